@@ -0,0 +1,69 @@
+package at.rags.morpheus;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import at.rags.morpheus.benchmarkresources.BenchChatSession;
+import at.rags.morpheus.benchmarkresources.BenchPerson;
+import at.rags.morpheus.benchmarkresources.BenchProduct;
+import at.rags.morpheus.benchmarkresources.BenchWideResource;
+
+/**
+ * Binding of all attributes of one resource with
+ * {@link AttributeMapper#mapAttributeToObject(Resource, Class, JSONObject, java.lang.reflect.Field, String)}.
+ */
+@State(Scope.Benchmark)
+public class AttributeMapperBenchmark {
+
+    @Param({"chat_session", "person", "product", "wide"})
+    public String shape;
+
+    @Param({"32"})
+    public int attributeCount;
+
+    private AttributeMapper attributeMapper;
+    private Class<? extends Resource> resourceClass;
+    private List<ResourceFields.AttributeField> attributes;
+    private JSONObject attributesJsonObject;
+
+    @Setup
+    public void setup() throws Exception {
+        attributeMapper = new AttributeMapper();
+
+        JSONObject document;
+        if ("wide".equals(shape)) {
+            resourceClass = BenchWideResource.class;
+            document = new JSONObject(Documents.createWide(1, attributeCount)).getJSONArray("data").getJSONObject(0);
+        } else if ("person".equals(shape)) {
+            resourceClass = BenchPerson.class;
+            document = new JSONObject(Documents.create(Documents.SHAPE_CHAT_SESSION, 1, 1, 1))
+                .getJSONArray("included").getJSONObject(0);
+        } else if ("product".equals(shape)) {
+            resourceClass = BenchProduct.class;
+            document = new JSONObject(Documents.create(Documents.SHAPE_PRODUCT, 1, 1, 1))
+                .getJSONArray("data").getJSONObject(0);
+        } else {
+            resourceClass = BenchChatSession.class;
+            document = new JSONObject(Documents.create(Documents.SHAPE_CHAT_SESSION, 1, 1, 1))
+                .getJSONArray("data").getJSONObject(0);
+        }
+        attributesJsonObject = document.getJSONObject("attributes");
+        attributes = ResourceFields.of(resourceClass).getAttributes();
+    }
+
+    @Benchmark
+    public Resource mapAttributes() throws Exception {
+        Resource resource = resourceClass.newInstance();
+        for (ResourceFields.AttributeField attribute : attributes) {
+            attributeMapper.mapAttributeToObject(resource, resourceClass, attributesJsonObject,
+                attribute.getField(), attribute.getJsonName());
+        }
+        return resource;
+    }
+}
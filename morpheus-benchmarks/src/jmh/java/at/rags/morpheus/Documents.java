@@ -0,0 +1,204 @@
+package at.rags.morpheus;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import at.rags.morpheus.benchmarkresources.BenchChatSession;
+import at.rags.morpheus.benchmarkresources.BenchPerson;
+import at.rags.morpheus.benchmarkresources.BenchProduct;
+import at.rags.morpheus.benchmarkresources.BenchWideResource;
+
+/**
+ * Generates json:api documents for the benchmarks.
+ * <p>
+ * Relationships point to the included people round robin, so every included resource is
+ * referenced when there are enough relationships.
+ */
+final class Documents {
+
+    static final String SHAPE_CHAT_SESSION = "chat_session";
+    static final String SHAPE_PRODUCT = "product";
+
+    private static final String[] STATES = {"initiated", "started", "ended"};
+    private static final String[] CONSULT_TYPES = {"LiveConsult", "TextConsult", "VideoConsult"};
+
+    private Documents() {
+    }
+
+    static void registerResources() {
+        Deserializer.registerResourceClass("ChatSession", BenchChatSession.class);
+        Deserializer.registerResourceClass("Person", BenchPerson.class);
+        Deserializer.registerResourceClass("products", BenchProduct.class);
+        Deserializer.registerResourceClass("wide", BenchWideResource.class);
+    }
+
+    /**
+     * Creates a document with a data array.
+     *
+     * @param shape         {@link #SHAPE_CHAT_SESSION} or {@link #SHAPE_PRODUCT}.
+     * @param count         Number of resources in data.
+     * @param fanOut        Number of relationships of the to-many relationship.
+     * @param includedCount Number of people in included.
+     * @return Json string.
+     */
+    static String create(String shape, int count, int fanOut, int includedCount) {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter writer = new JsonWriter(stringWriter);
+        try {
+            writer.beginObject();
+            writer.name("data").beginArray();
+            for (int i = 0; i < count; i++) {
+                if (SHAPE_PRODUCT.equals(shape)) {
+                    writeProduct(writer, i, fanOut, includedCount);
+                } else {
+                    writeChatSession(writer, i, fanOut, includedCount);
+                }
+            }
+            writer.endArray();
+
+            writer.name("included").beginArray();
+            for (int i = 0; i < includedCount; i++) {
+                writePerson(writer, i);
+            }
+            writer.endArray();
+
+            writeLinks(writer, "http://example.com/" + shape);
+            writer.name("meta").beginObject().name("total").value(count).endObject();
+            writer.endObject();
+            writer.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return stringWriter.toString();
+    }
+
+    /**
+     * Creates a document with a data array of resources with the given number of attributes
+     * and no relationships.
+     */
+    static String createWide(int count, int attributeCount) {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter writer = new JsonWriter(stringWriter);
+        try {
+            writer.beginObject();
+            writer.name("data").beginArray();
+            for (int i = 0; i < count; i++) {
+                writer.beginObject();
+                writer.name("type").value("wide");
+                writer.name("id").value(String.valueOf(i));
+                writer.name("attributes").beginObject();
+                for (int attribute = 0; attribute < attributeCount; attribute++) {
+                    if (attribute % 2 == 0) {
+                        writer.name("text_" + attribute / 2).value("value " + i + " " + attribute);
+                    } else {
+                        writer.name("number_" + attribute / 2).value(1490039100L + i * attribute);
+                    }
+                }
+                writer.endObject();
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+            writer.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return stringWriter.toString();
+    }
+
+    private static void writeChatSession(JsonWriter writer, int index, int fanOut, int includedCount) throws IOException {
+        writer.beginObject();
+        writer.name("type").value("ChatSession");
+        writer.name("id").value(String.valueOf(29064 + index));
+
+        writer.name("attributes").beginObject();
+        writer.name("state").value(STATES[index % STATES.length]);
+        writer.name("reason_for_visit").value("reason " + index);
+        writer.name("consult_geo_state").value("CA");
+        writer.name("consult_geo_country").value("United States");
+        writer.name("start_time").value(1490039100 + index);
+        writer.name("end_time").nullValue();
+        writer.name("consult_type").value(CONSULT_TYPES[index % CONSULT_TYPES.length]);
+        writer.name("concierge_appointment_id").value(String.valueOf(1592 + index));
+        writer.endObject();
+
+        writer.name("relationships").beginObject();
+        writeToOne(writer, "patient", personId(index * 2, includedCount));
+        writeToOne(writer, "expert", personId(index * 2 + 1, includedCount));
+        writeToMany(writer, "participants", index * fanOut, fanOut, includedCount);
+        writer.endObject();
+
+        writeLinks(writer, "http://example.com/chat_sessions/" + index);
+        writer.endObject();
+    }
+
+    private static void writeProduct(JsonWriter writer, int index, int fanOut, int includedCount) throws IOException {
+        writer.beginObject();
+        writer.name("type").value("products");
+        writer.name("id").value(123456 + index);
+
+        writer.name("attributes").beginObject();
+        writer.name("product-name").value("Fancy new roboter " + index);
+        writer.name("categories").beginArray().value("roboter").value("home").value("tech").endArray();
+        writer.name("price").value(999.75 + index);
+        writer.name("in-stock").value(index % 10);
+        writer.name("stores-availability").beginObject()
+            .name("Store 1").value(true)
+            .name("Store 2").value(index % 2 == 0)
+            .name("Store 3").value(false)
+            .endObject();
+        writer.name("location").beginObject().name("lat").value(14.202323).name("lon").value(12.04995).endObject();
+        writer.name("times").beginArray().value("9:14").value("12 15").endArray();
+        writer.endObject();
+
+        writer.name("relationships").beginObject();
+        writeToMany(writer, "authors", index * fanOut, fanOut, includedCount);
+        writer.endObject();
+
+        writeLinks(writer, "http://example.com/products/" + index);
+        writer.endObject();
+    }
+
+    private static void writePerson(JsonWriter writer, int index) throws IOException {
+        writer.beginObject();
+        writer.name("type").value("Person");
+        writer.name("id").value("p" + index);
+        writer.name("attributes").beginObject();
+        writer.name("gender").value(index % 2 == 0 ? "male" : "female");
+        writer.name("dob").value("1973-01-01");
+        writer.name("name").beginObject()
+            .name("given_name").value("Given " + index)
+            .name("family_name").value("Family " + index)
+            .name("full_name").value("Given Family " + index)
+            .endObject();
+        writer.name("location").beginObject().name("lat").value(37.44).name("lon").value(-122.14).endObject();
+        writer.endObject();
+        writer.endObject();
+    }
+
+    private static void writeToOne(JsonWriter writer, String name, String id) throws IOException {
+        writer.name(name).beginObject();
+        writer.name("data").beginObject().name("type").value("Person").name("id").value(id).endObject();
+        writer.endObject();
+    }
+
+    private static void writeToMany(JsonWriter writer, String name, int first, int count, int includedCount) throws IOException {
+        writer.name(name).beginObject();
+        writer.name("data").beginArray();
+        for (int i = 0; i < count; i++) {
+            writer.beginObject().name("type").value("Person").name("id").value(personId(first + i, includedCount)).endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    private static void writeLinks(JsonWriter writer, String self) throws IOException {
+        writer.name("links").beginObject().name("self").value(self).endObject();
+    }
+
+    private static String personId(int index, int includedCount) {
+        return "p" + (includedCount > 0 ? index % includedCount : index);
+    }
+}
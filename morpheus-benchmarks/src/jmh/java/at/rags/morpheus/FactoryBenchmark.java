@@ -0,0 +1,45 @@
+package at.rags.morpheus;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Materialization of an already tokenized data array with
+ * {@link Factory#newObjectFromJSONArray(JSONArray, List)}.
+ */
+@State(Scope.Benchmark)
+public class FactoryBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int resourceCount;
+
+    @Param({"1", "8"})
+    public int fanOut;
+
+    @Param({Documents.SHAPE_CHAT_SESSION, Documents.SHAPE_PRODUCT})
+    public String shape;
+
+    private JSONArray dataArray;
+    private List<Resource> included;
+
+    @Setup
+    public void setup() throws Exception {
+        Documents.registerResources();
+        Factory.setMapper(new Mapper());
+        JSONObject document = new JSONObject(Documents.create(shape, resourceCount, fanOut, 100));
+        dataArray = document.getJSONArray("data");
+        included = Factory.newObjectFromJSONArray(document.getJSONArray("included"), null);
+    }
+
+    @Benchmark
+    public List<Resource> newObjectFromJSONArray() throws Exception {
+        return Factory.newObjectFromJSONArray(dataArray, included);
+    }
+}
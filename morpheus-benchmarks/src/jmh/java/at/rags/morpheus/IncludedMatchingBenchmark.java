@@ -0,0 +1,49 @@
+package at.rags.morpheus;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Matching of relationships to included resources with {@link Mapper#mapRelations(Resource, List)}.
+ */
+@State(Scope.Benchmark)
+public class IncludedMatchingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int resourceCount;
+
+    @Param({"1", "8"})
+    public int fanOut;
+
+    @Param({"10", "100", "1000"})
+    public int includedCount;
+
+    private Mapper mapper;
+    private List<Resource> resources;
+    private List<Resource> included;
+
+    @Setup
+    public void setup() throws Exception {
+        Documents.registerResources();
+        mapper = new Mapper();
+        Factory.setMapper(mapper);
+        JSONObject document = new JSONObject(
+            Documents.create(Documents.SHAPE_CHAT_SESSION, resourceCount, fanOut, includedCount));
+        resources = Factory.newObjectFromJSONArray(document.getJSONArray("data"), null);
+        included = Factory.newObjectFromJSONArray(document.getJSONArray("included"), null);
+    }
+
+    @Benchmark
+    public List<Resource> mapRelations() throws Exception {
+        for (Resource resource : resources) {
+            mapper.mapRelations(resource, included);
+        }
+        return resources;
+    }
+}
@@ -0,0 +1,41 @@
+package at.rags.morpheus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Complete parse of a document with {@link Morpheus#parse(String)}.
+ */
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int resourceCount;
+
+    @Param({"1", "8"})
+    public int fanOut;
+
+    @Param({"10", "1000"})
+    public int includedCount;
+
+    @Param({Documents.SHAPE_CHAT_SESSION, Documents.SHAPE_PRODUCT})
+    public String shape;
+
+    private Morpheus morpheus;
+    private String json;
+
+    @Setup
+    public void setup() {
+        Documents.registerResources();
+        morpheus = new Morpheus();
+        json = Documents.create(shape, resourceCount, fanOut, includedCount);
+    }
+
+    @Benchmark
+    public JsonApiObject parse() throws Exception {
+        return morpheus.parse(json);
+    }
+}
@@ -0,0 +1,43 @@
+package at.rags.morpheus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Serialization of parsed resources with {@link Morpheus#createJson(JsonApiObject, Boolean)}.
+ */
+@State(Scope.Benchmark)
+public class SerializeBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int resourceCount;
+
+    @Param({"1", "8"})
+    public int fanOut;
+
+    @Param({"false", "true"})
+    public boolean addIncluded;
+
+    @Param({Documents.SHAPE_CHAT_SESSION, Documents.SHAPE_PRODUCT})
+    public String shape;
+
+    private Morpheus morpheus;
+    private JsonApiObject jsonApiObject;
+
+    @Setup
+    public void setup() throws Exception {
+        Documents.registerResources();
+        morpheus = new Morpheus();
+        JsonApiObject parsed = morpheus.parse(Documents.create(shape, resourceCount, fanOut, 100));
+        jsonApiObject = new JsonApiObject();
+        jsonApiObject.setResources(parsed.getResources());
+    }
+
+    @Benchmark
+    public String createJson() {
+        return morpheus.createJson(jsonApiObject, addIncluded);
+    }
+}
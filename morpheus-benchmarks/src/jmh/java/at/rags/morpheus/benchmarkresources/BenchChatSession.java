@@ -0,0 +1,57 @@
+package at.rags.morpheus.benchmarkresources;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+import at.rags.morpheus.Resource;
+import at.rags.morpheus.annotations.JsonApiType;
+import at.rags.morpheus.annotations.Relationship;
+
+/**
+ * Same shape as the ChatSession of the morpheus tests, with an additional to-many relationship
+ * for the relationship fan-out.
+ */
+@JsonApiType("ChatSession")
+public class BenchChatSession extends Resource {
+
+    @Relationship("patient")
+    private BenchPerson patient;
+    @Relationship("expert")
+    private BenchPerson expert;
+    @Relationship("participants")
+    private List<BenchPerson> participants;
+
+    @SerializedName("start_time")
+    private int startTime;
+    @SerializedName("end_time")
+    private int endTime;
+    @SerializedName("state")
+    private String state;
+    @SerializedName("consult_type")
+    private String consultType;
+    @SerializedName("reason_for_visit")
+    private String reasonForVisit;
+    @SerializedName("consult_geo_state")
+    private String consultGeoState;
+    @SerializedName("consult_geo_country")
+    private String consultGeoCountry;
+    @SerializedName("concierge_appointment_id")
+    private String appointmentId;
+
+    public BenchPerson getPatient() {
+        return patient;
+    }
+
+    public BenchPerson getExpert() {
+        return expert;
+    }
+
+    public List<BenchPerson> getParticipants() {
+        return participants;
+    }
+
+    public String getState() {
+        return state;
+    }
+}
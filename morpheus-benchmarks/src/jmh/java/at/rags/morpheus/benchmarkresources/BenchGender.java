@@ -0,0 +1,11 @@
+package at.rags.morpheus.benchmarkresources;
+
+import com.google.gson.annotations.SerializedName;
+
+public enum BenchGender {
+    @SerializedName("male")
+    MALE,
+    @SerializedName("female")
+    FEMALE,
+    UNKNOWN
+}
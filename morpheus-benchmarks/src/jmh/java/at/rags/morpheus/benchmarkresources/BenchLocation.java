@@ -0,0 +1,15 @@
+package at.rags.morpheus.benchmarkresources;
+
+public class BenchLocation {
+
+    private double lat;
+    private double lon;
+
+    public double getLat() {
+        return lat;
+    }
+
+    public double getLon() {
+        return lon;
+    }
+}
@@ -0,0 +1,17 @@
+package at.rags.morpheus.benchmarkresources;
+
+import com.google.gson.annotations.SerializedName;
+
+public class BenchName {
+
+    @SerializedName("given_name")
+    private String givenName;
+    @SerializedName("family_name")
+    private String familyName;
+    @SerializedName("full_name")
+    private String fullName;
+
+    public String getFullName() {
+        return fullName;
+    }
+}
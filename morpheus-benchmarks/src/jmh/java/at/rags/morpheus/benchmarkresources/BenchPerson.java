@@ -0,0 +1,35 @@
+package at.rags.morpheus.benchmarkresources;
+
+import com.google.gson.annotations.SerializedName;
+
+import at.rags.morpheus.Resource;
+import at.rags.morpheus.annotations.JsonApiType;
+
+@JsonApiType("Person")
+public class BenchPerson extends Resource {
+
+    @SerializedName("name")
+    private BenchName name;
+    @SerializedName("gender")
+    private BenchGender gender;
+    @SerializedName("dob")
+    private String dob;
+    @SerializedName("location")
+    private BenchLocation location;
+
+    public BenchName getName() {
+        return name;
+    }
+
+    public BenchGender getGender() {
+        return gender;
+    }
+
+    public String getDob() {
+        return dob;
+    }
+
+    public BenchLocation getLocation() {
+        return location;
+    }
+}
@@ -0,0 +1,39 @@
+package at.rags.morpheus.benchmarkresources;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.HashMap;
+import java.util.List;
+
+import at.rags.morpheus.Resource;
+import at.rags.morpheus.annotations.JsonApiType;
+import at.rags.morpheus.annotations.Relationship;
+
+/**
+ * Same shape as the Product of the morpheus tests, with the authors as relationship.
+ */
+@JsonApiType("products")
+public class BenchProduct extends Resource {
+
+    @SerializedName("product-name")
+    private String name;
+    private List<String> categories;
+    private double price;
+    @SerializedName("in-stock")
+    private int inStock;
+    @SerializedName("stores-availability")
+    private HashMap<String, Boolean> availability;
+    private BenchLocation location;
+    private String[] times;
+
+    @Relationship("authors")
+    private List<BenchPerson> authors;
+
+    public String getName() {
+        return name;
+    }
+
+    public List<BenchPerson> getAuthors() {
+        return authors;
+    }
+}
@@ -0,0 +1,113 @@
+package at.rags.morpheus.benchmarkresources;
+
+import com.google.gson.annotations.SerializedName;
+
+import at.rags.morpheus.Resource;
+import at.rags.morpheus.annotations.JsonApiType;
+
+/**
+ * Resource with 16 text and 16 number attributes, documents fill the first attribute count of them.
+ */
+@JsonApiType("wide")
+public class BenchWideResource extends Resource {
+
+    @SerializedName("text_0")
+    private String text0;
+
+    @SerializedName("text_1")
+    private String text1;
+
+    @SerializedName("text_2")
+    private String text2;
+
+    @SerializedName("text_3")
+    private String text3;
+
+    @SerializedName("text_4")
+    private String text4;
+
+    @SerializedName("text_5")
+    private String text5;
+
+    @SerializedName("text_6")
+    private String text6;
+
+    @SerializedName("text_7")
+    private String text7;
+
+    @SerializedName("text_8")
+    private String text8;
+
+    @SerializedName("text_9")
+    private String text9;
+
+    @SerializedName("text_10")
+    private String text10;
+
+    @SerializedName("text_11")
+    private String text11;
+
+    @SerializedName("text_12")
+    private String text12;
+
+    @SerializedName("text_13")
+    private String text13;
+
+    @SerializedName("text_14")
+    private String text14;
+
+    @SerializedName("text_15")
+    private String text15;
+
+    @SerializedName("number_0")
+    private long number0;
+
+    @SerializedName("number_1")
+    private long number1;
+
+    @SerializedName("number_2")
+    private long number2;
+
+    @SerializedName("number_3")
+    private long number3;
+
+    @SerializedName("number_4")
+    private long number4;
+
+    @SerializedName("number_5")
+    private long number5;
+
+    @SerializedName("number_6")
+    private long number6;
+
+    @SerializedName("number_7")
+    private long number7;
+
+    @SerializedName("number_8")
+    private long number8;
+
+    @SerializedName("number_9")
+    private long number9;
+
+    @SerializedName("number_10")
+    private long number10;
+
+    @SerializedName("number_11")
+    private long number11;
+
+    @SerializedName("number_12")
+    private long number12;
+
+    @SerializedName("number_13")
+    private long number13;
+
+    @SerializedName("number_14")
+    private long number14;
+
+    @SerializedName("number_15")
+    private long number15;
+
+    public String getText0() {
+        return text0;
+    }
+}
@@ -0,0 +1,430 @@
+package at.rags.morpheus;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AttributeMapper is used to map the json:api attribute node to
+ * your object fields.
+ * <p>
+ * You can create your own AttributeMapper and set it via {@link Morpheus#Morpheus(at.rags.morpheus.AttributeMapper)}.
+ */
+public class AttributeMapper {
+    private Deserializer deserializer;
+    private Gson gson;
+    private final ConcurrentHashMap<Class<?>, Boolean> enumLookups = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, Object> enumFallbacks = new ConcurrentHashMap<>();
+
+    public AttributeMapper() {
+        deserializer = new Deserializer();
+        gson = new Gson();
+    }
+
+    public AttributeMapper(Deserializer deserializer, Gson gson) {
+        this.deserializer = deserializer;
+        this.gson = gson;
+    }
+
+    /**
+     * Will map the attributes of the JSONAPI attribute object.
+     * JSONArrays will get mapped as {@literal List<Object>}.
+     * JSONObject will get mapped as {@literal ArrayMap<String, Object>}.
+     * Everything else will get mapped without changes.
+     *
+     * @param jsonApiResource      Object extended with {@link Resource} that will get the field set.
+     * @param objClass
+     * @param attributesJsonObject {@link JSONObject} with json:api attributes object
+     * @param field                Field that will be set.
+     * @param jsonFieldName        Name of the json-field in attributesJsonObject to get data from.
+     */
+    public void mapAttributeToObject(Resource jsonApiResource, Class<? extends Resource> objClass, JSONObject attributesJsonObject,
+                                     Field field, String jsonFieldName) {
+
+        Object object = null;
+        try {
+            object = attributesJsonObject.get(jsonFieldName);
+        } catch (JSONException e) {
+            Logger.debug(attributesJsonObject.toString() + " does not contain " + jsonFieldName);
+            return;
+        }
+        if (objClass == null) {
+            objClass = jsonApiResource.getClass();
+        }
+
+        if (object instanceof JSONArray) {
+            if (field.getType().isAssignableFrom(List.class)) {
+                List<Object> list = null;
+                try {
+                    list = createListFromJSONArray(attributesJsonObject.getJSONArray(jsonFieldName), field);
+                } catch (JSONException e) {
+                    Logger.debug(jsonFieldName + " is not an valid JSONArray.");
+                }
+
+                deserializer.setField(jsonApiResource, objClass, field.getName(), list);
+            } else {
+                Object obj = null;
+                if (field.getType().isArray() && field.getType().getComponentType().isPrimitive()) {
+                    obj = createPrimitiveArray((JSONArray) object, field.getType().getComponentType());
+                }
+                if (obj == null) {
+                    obj = readTree(object, field);
+                }
+                deserializer.setField(jsonApiResource, objClass, field.getName(), obj);
+            }
+        } else if (object.getClass() == JSONObject.class) {
+            Object obj = readTree(object, field);
+            deserializer.setField(jsonApiResource, objClass, field.getName(), obj);
+        } else if (JSONObject.NULL != object) {
+            mapValueToObject(jsonApiResource, objClass, field, jsonFieldName, object);
+        }
+
+    }
+
+    /**
+     * Reads a JSONObject or JSONArray with the type adapter of the field's (generic) type.
+     */
+    private Object readTree(Object object, Field field) {
+        Type type = field.getGenericType();
+        if (type instanceof TypeVariable) {
+            type = field.getType();
+        }
+        return gson.getAdapter(TypeToken.get(type)).fromJsonTree(JsonTree.toJsonElement(object));
+    }
+
+    /**
+     * Maps a string, number or boolean. Strings and primitives are set directly, everything
+     * else is read by gson.
+     */
+    private void mapValueToObject(Resource jsonApiResource, Class<? extends Resource> objClass, Field field,
+                                  String jsonFieldName, Object object) {
+        Class<?> type = field.getType();
+        if (type == String.class && object instanceof String) {
+            deserializer.setField(jsonApiResource, objClass, field.getName(), object);
+            return;
+        }
+        if (type.isPrimitive() && setPrimitive(jsonApiResource, field, object)) {
+            return;
+        }
+        if (usesEnumLookup(type)) {
+            Object constant = EnumLookup.of(type).get(object.toString());
+            if (constant == null) {
+                Logger.debug(jsonFieldName + " has unknown " + type.getSimpleName() + " " + object + ".");
+                constant = enumFallbacks.get(type);
+            }
+            deserializer.setField(jsonApiResource, objClass, field.getName(), constant);
+            return;
+        }
+
+        JsonReader reader = gson.newJsonReader(new StringReader(object.toString()));
+        if (type.isEnum()) {
+            reader.setLenient(true);
+        }
+        try {
+            object = gson.getAdapter(type).read(reader);
+        } catch (IOException e) {
+            Logger.debug(jsonFieldName + " failed to read.");
+        }
+        deserializer.setField(jsonApiResource, objClass, field.getName(), object);
+    }
+
+    /**
+     * Sets a primitive field from the number or boolean of org.json without boxing it again.
+     * Integral fields only take integral values in their range, other values are left to gson.
+     *
+     * @return True if the field was set.
+     */
+    private boolean setPrimitive(Resource jsonApiResource, Field field, Object object) {
+        Class<?> type = field.getType();
+        if (object instanceof Boolean) {
+            if (type != boolean.class) {
+                return false;
+            }
+            deserializer.setBooleanField(jsonApiResource, field, (Boolean) object);
+            return true;
+        }
+        if (!(object instanceof Number)) {
+            return false;
+        }
+
+        Number number = (Number) object;
+        if (type == double.class) {
+            deserializer.setDoubleField(jsonApiResource, field, number.doubleValue());
+            return true;
+        }
+        if (type == float.class) {
+            deserializer.setFloatField(jsonApiResource, field, number.floatValue());
+            return true;
+        }
+        if (!isIntegral(number)) {
+            return false;
+        }
+
+        long value = number.longValue();
+        if (type == long.class) {
+            deserializer.setLongField(jsonApiResource, field, value);
+        } else if (type == int.class && value == (int) value) {
+            deserializer.setIntField(jsonApiResource, field, (int) value);
+        } else if (type == short.class && value == (short) value) {
+            deserializer.setShortField(jsonApiResource, field, (short) value);
+        } else if (type == byte.class && value == (byte) value) {
+            deserializer.setByteField(jsonApiResource, field, (byte) value);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return True if the number has no fraction and fits into a long.
+     */
+    private static boolean isIntegral(Number number) {
+        if (number instanceof Integer || number instanceof Long
+            || number instanceof Short || number instanceof Byte) {
+            return true;
+        }
+        if (number instanceof BigInteger) {
+            return ((BigInteger) number).bitLength() < 64;
+        }
+        double value = number.doubleValue();
+        return value == Math.rint(value) && value >= -0x1p63 && value < 0x1p63;
+    }
+
+    /**
+     * Set the constant used for json values that match no constant of the enum.
+     * Without a fallback unknown values are mapped to null, like gson does.
+     *
+     * @param enumClass Enum class.
+     * @param fallback  Constant for unknown values or null to remove the fallback.
+     */
+    public <E extends Enum<E>> void setEnumFallback(Class<E> enumClass, E fallback) {
+        if (fallback == null) {
+            enumFallbacks.remove(enumClass);
+        } else {
+            enumFallbacks.put(enumClass, fallback);
+        }
+    }
+
+    /**
+     * Enums are looked up in a table instead of being read by gson, unless the gson instance
+     * has its own type adapter for the enum.
+     */
+    private boolean usesEnumLookup(Class<?> type) {
+        if (!type.isEnum()) {
+            return false;
+        }
+        Boolean lookup = enumLookups.get(type);
+        if (lookup == null) {
+            lookup = gson.getAdapter(type).getClass().getName().startsWith("com.google.gson.internal.");
+            enumLookups.put(type, lookup);
+        }
+        return lookup;
+    }
+
+    /**
+     * Will loop through JSONArray and return values as List<Object>.
+     * Numbers and booleans are converted to the element type directly, other values are read
+     * by the (cached) gson adapter of the element type, objects and arrays from a gson tree.
+     *
+     * @param jsonArray JSONArray with values.
+     * @return List<Object> of JSONArray values.
+     */
+    private List<Object> createListFromJSONArray(JSONArray jsonArray, Field field) {
+        Type genericFieldType = field.getGenericType();
+        List<Object> objectArrayList = new ArrayList<>(jsonArray.length());
+
+        if (genericFieldType instanceof ParameterizedType) {
+            ParameterizedType aType = (ParameterizedType) genericFieldType;
+            Type[] fieldArgTypes = aType.getActualTypeArguments();
+            for (Type fieldArgType : fieldArgTypes) {
+                TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(fieldArgType));
+                Class<?> fieldArgClass = TypeToken.get(fieldArgType).getRawType();
+
+                for (int i = 0; jsonArray.length() > i; i++) {
+                    Object obj = null;
+                    Object jsonObject = null;
+
+                    try {
+                        jsonObject = jsonArray.get(i);
+                    } catch (JSONException e) {
+                        Logger.debug("JSONArray does not contain index " + i + ".");
+                        continue;
+                    }
+
+                    // if this is a String, it wont use gson because it can throw a malformed json exception
+                    // that case happens if there is a String with ":" in it.
+                    if (fieldArgClass == String.class) {
+                        obj = jsonObject.toString();
+                    } else if (jsonObject == JSONObject.NULL) {
+                        obj = null;
+                    } else {
+                        obj = convertValue(jsonObject, fieldArgClass);
+                        if (obj == null) {
+                            obj = readValue(adapter, jsonObject);
+                        }
+                    }
+
+                    objectArrayList.add(obj);
+                }
+            }
+        }
+
+        return objectArrayList;
+    }
+
+    /**
+     * Converts a number or boolean to a boxed element type.
+     *
+     * @return Converted value or null if the value does not fit the type.
+     */
+    private static Object convertValue(Object value, Class<?> type) {
+        if (value instanceof Boolean) {
+            return type == Boolean.class ? value : null;
+        }
+        if (!(value instanceof Number)) {
+            return null;
+        }
+
+        Number number = (Number) value;
+        if (type == Double.class) {
+            return number.doubleValue();
+        }
+        if (type == Float.class) {
+            return number.floatValue();
+        }
+        if (!isIntegral(number)) {
+            return null;
+        }
+        long longValue = number.longValue();
+        if (type == Long.class) {
+            return longValue;
+        }
+        if (type == Integer.class && longValue == (int) longValue) {
+            return (int) longValue;
+        }
+        return null;
+    }
+
+    private Object readValue(TypeAdapter<?> adapter, Object value) {
+        if (value instanceof JSONObject || value instanceof JSONArray) {
+            return adapter.fromJsonTree(JsonTree.toJsonElement(value));
+        }
+        JsonReader reader = gson.newJsonReader(new StringReader(value.toString()));
+        reader.setLenient(true);
+        try {
+            return adapter.read(reader);
+        } catch (IOException e) {
+            Logger.debug(value + " failed to read.");
+            return null;
+        }
+    }
+
+    /**
+     * Creates an int[], long[], double[], float[] or boolean[] from a JSONArray.
+     *
+     * @param jsonArray     JSONArray with values.
+     * @param componentType Primitive component type of the array.
+     * @return Array or null if the type is not supported or a value does not fit, gson reads the array then.
+     */
+    private static Object createPrimitiveArray(JSONArray jsonArray, Class<?> componentType) {
+        int length = jsonArray.length();
+        if (componentType == int.class) {
+            int[] array = new int[length];
+            for (int i = 0; i < length; i++) {
+                Object value = jsonArray.opt(i);
+                if (!(value instanceof Number) || !isIntegral((Number) value)) {
+                    return null;
+                }
+                long longValue = ((Number) value).longValue();
+                if (longValue != (int) longValue) {
+                    return null;
+                }
+                array[i] = (int) longValue;
+            }
+            return array;
+        } else if (componentType == long.class) {
+            long[] array = new long[length];
+            for (int i = 0; i < length; i++) {
+                Object value = jsonArray.opt(i);
+                if (!(value instanceof Number) || !isIntegral((Number) value)) {
+                    return null;
+                }
+                array[i] = ((Number) value).longValue();
+            }
+            return array;
+        } else if (componentType == double.class) {
+            double[] array = new double[length];
+            for (int i = 0; i < length; i++) {
+                Object value = jsonArray.opt(i);
+                if (!(value instanceof Number)) {
+                    return null;
+                }
+                array[i] = ((Number) value).doubleValue();
+            }
+            return array;
+        } else if (componentType == float.class) {
+            float[] array = new float[length];
+            for (int i = 0; i < length; i++) {
+                Object value = jsonArray.opt(i);
+                if (!(value instanceof Number)) {
+                    return null;
+                }
+                array[i] = ((Number) value).floatValue();
+            }
+            return array;
+        } else if (componentType == boolean.class) {
+            boolean[] array = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                Object value = jsonArray.opt(i);
+                if (!(value instanceof Boolean)) {
+                    return null;
+                }
+                array[i] = (Boolean) value;
+            }
+            return array;
+        }
+        return null;
+    }
+
+    /**
+     * Will loop through JSONObject and return values as map.
+     *
+     * @param jsonObject JSONObject for meta.
+     * @return HashMap with meta values.
+     */
+    public HashMap<String, Object> createMapFromJSONObject(JSONObject jsonObject) {
+        HashMap<String, Object> metaMap = new HashMap<>();
+        if (jsonObject == null) return metaMap;
+
+        for (Iterator<String> iter = jsonObject.keys(); iter.hasNext(); ) {
+            String key = iter.next();
+
+            try {
+                metaMap.put(key, jsonObject.get(key));
+            } catch (JSONException e) {
+                Logger.debug("JSON does not contain " + key + ".");
+            }
+        }
+
+        return metaMap;
+    }
+
+}
@@ -0,0 +1,138 @@
+package at.rags.morpheus;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records the attribute and relationship values of a {@link Resource} and tells which of them
+ * changed since.
+ * <p>
+ * Values are compared by their json representation, relationships by the ids and classes of
+ * the related resources. The field metadata is the same {@link ResourceFields} the
+ * {@link Mapper} uses, so the names match the ones in the json:api document.
+ */
+final class ChangeTracker {
+
+    private static final Gson gson = new GsonBuilder().serializeNulls().create();
+    private static final Object UNCOMPARABLE = new Object();
+
+    private ChangeTracker() {
+    }
+
+    /**
+     * Takes a snapshot of the current state of the resource.
+     *
+     * @param resource Resource to track.
+     */
+    static void snapshot(Resource resource) {
+        ResourceFields fields = ResourceFields.of(resource.getClass());
+
+        HashMap<String, Object> attributes = new HashMap<>();
+        for (ResourceFields.AttributeField attribute : fields.getAttributes()) {
+            attributes.put(attribute.getJsonName(), comparableValue(attribute.get(resource)));
+        }
+
+        HashMap<String, Object> relationships = new HashMap<>();
+        for (ResourceFields.RelationshipField relationship : fields.getRelationships()) {
+            relationships.put(relationship.getName(), relationIdentity(relationship.get(resource)));
+        }
+
+        resource.setSnapshot(new Snapshot(attributes, relationships));
+    }
+
+    /**
+     * Returns the json names of all attributes changed since the last snapshot.
+     * Returns null when the resource is not tracked.
+     */
+    static Set<String> changedAttributes(Resource resource) {
+        Snapshot snapshot = resource.getSnapshot();
+        if (snapshot == null) {
+            return null;
+        }
+
+        Set<String> changed = new LinkedHashSet<>();
+        for (ResourceFields.AttributeField attribute : ResourceFields.of(resource.getClass()).getAttributes()) {
+            Object before = snapshot.attributes.get(attribute.getJsonName());
+            Object now = comparableValue(attribute.get(resource));
+            if (before == UNCOMPARABLE || now == UNCOMPARABLE || !equal(before, now)) {
+                changed.add(attribute.getJsonName());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the names of all relationships changed since the last snapshot.
+     * Returns null when the resource is not tracked.
+     */
+    static Set<String> changedRelationships(Resource resource) {
+        Snapshot snapshot = resource.getSnapshot();
+        if (snapshot == null) {
+            return null;
+        }
+
+        Set<String> changed = new LinkedHashSet<>();
+        for (ResourceFields.RelationshipField relationship : ResourceFields.of(resource.getClass()).getRelationships()) {
+            Object before = snapshot.relationships.get(relationship.getName());
+            Object now = relationIdentity(relationship.get(resource));
+            if (!equal(before, now)) {
+                changed.add(relationship.getName());
+            }
+        }
+        return changed;
+    }
+
+    // helper
+
+    private static Object comparableValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number
+            || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+            return value;
+        }
+        try {
+            return gson.toJsonTree(value);
+        } catch (RuntimeException e) {
+            Logger.debug("Cannot snapshot value of class " + value.getClass().getName());
+            return UNCOMPARABLE;
+        }
+    }
+
+    private static Object relationIdentity(Object relation) {
+        if (relation instanceof Resource) {
+            Resource resource = (Resource) relation;
+            return resource.getClass().getName() + ":" + resource.getId();
+        }
+        if (relation instanceof List) {
+            List<String> identities = new ArrayList<>();
+            for (Object item : (List) relation) {
+                identities.add((String) relationIdentity(item));
+            }
+            return identities;
+        }
+        return null;
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Recorded state of a resource.
+     */
+    static final class Snapshot {
+        private final Map<String, Object> attributes;
+        private final Map<String, Object> relationships;
+
+        Snapshot(Map<String, Object> attributes, Map<String, Object> relationships) {
+            this.attributes = attributes;
+            this.relationships = relationships;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package at.rags.morpheus;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+
+import at.rags.morpheus.exceptions.NotExtendingResourceException;
+
+/**
+ * Deserializer uses reflection to create objects and set fields.
+ */
+public class Deserializer {
+
+    private static HashMap<String, Class> registeredClasses = new HashMap<>();
+    private static HashMap<String, String> registeredTypeNames = new HashMap<>();
+
+    /**
+     * Register your class for a JSON type.
+     * <p>
+     * Example:
+     * registerResourceClass("articles", Article.class);
+     *
+     * @param typeName      Name of the JSONAPI type.
+     * @param resourceClass Class for mapping.
+     * @see Resource
+     */
+    public static void registerResourceClass(String typeName, Class resourceClass) {
+        registeredClasses.put(typeName, resourceClass);
+        registeredTypeNames.put(typeName, typeName);
+    }
+
+    /**
+     * @param typeName Name of a JSONAPI type.
+     * @return True if a class is registered for the type.
+     */
+    static boolean isRegistered(String typeName) {
+        return registeredClasses.containsKey(typeName);
+    }
+
+    /**
+     * @param typeName Name of a JSONAPI type.
+     * @return The registered instance of the name, or typeName if it is not registered.
+     */
+    static String getRegisteredTypeName(String typeName) {
+        String registered = registeredTypeNames.get(typeName);
+        return registered == null ? typeName : registered;
+    }
+
+    /**
+     * Creates an instance of an object via its name.
+     *
+     * @param resourceName Name of the resource.
+     * @return Instance of the resourceName class.
+     * @throws InstantiationException        Throws exception when not able to create instance of class.
+     * @throws IllegalAccessException        Throws exception when not able to create instance of class.
+     * @throws NotExtendingResourceException Throws exception when not able to create instance of class.
+     */
+    Resource createObjectFromString(String resourceName) throws InstantiationException, IllegalAccessException, NotExtendingResourceException {
+        Class objectClass = registeredClasses.get(resourceName);
+        if (objectClass == null) return null;
+        try {
+            return (Resource) objectClass.newInstance();
+        } catch (InstantiationException e) {
+            throw e;
+        } catch (IllegalAccessException e) {
+            throw e;
+        } catch (ClassCastException e) {
+            throw new NotExtendingResourceException(objectClass + " is not inheriting Resource");
+        }
+    }
+
+    /**
+     * Sets the field of the resourceObject with the data.
+     *
+     * @param resourceObject Object with field to be set.
+     * @param fieldName      Name of the field.
+     * @param data           Data to set.
+     * @return Resource with or without field set
+     */
+    Resource setField(Resource resourceObject, String fieldName, Object data) {
+        return setField(resourceObject, resourceObject.getClass(), fieldName, data);
+    }
+
+    /**
+     * Sets the field of the resourceObject with the data.
+     *
+     * @param resourceObject Object with field to be set.
+     * @param fieldName      Name of the field.
+     * @param data           Data to set.
+     * @return Resource with or without field set
+     */
+    Resource setField(Resource resourceObject, Class<?> objClass, String fieldName, Object data) {
+        Field field = null;
+        try {
+            field = objClass.getDeclaredField(fieldName);
+            boolean accessible = field.isAccessible();
+            field.setAccessible(true);
+            try {
+                field.set(resourceObject, data);
+            } catch (IllegalAccessException e) {
+                Logger.debug("Could not access " + field.getName() + " field");
+            } catch (RuntimeException e) {
+                Logger.debug("Could not set " + field.getName() + " field");
+            } finally {
+                field.setAccessible(accessible);
+            }
+        } catch (NoSuchFieldException e) {
+            Logger.debug("Field " + fieldName + " not found.");
+        }
+        return resourceObject;
+    }
+
+    /**
+     * Sets a primitive int field without boxing the value.
+     *
+     * @param resourceObject Object with field to be set.
+     * @param field          Field of type int.
+     * @param data           Data to set.
+     */
+    void setIntField(Resource resourceObject, Field field, int data) {
+        try {
+            accessible(field).setInt(resourceObject, data);
+        } catch (IllegalAccessException e) {
+            Logger.debug("Could not access " + field.getName() + " field");
+        } catch (RuntimeException e) {
+            Logger.debug("Could not set " + field.getName() + " field");
+        }
+    }
+
+    /**
+     * Sets a primitive long field without boxing the value.
+     *
+     * @param resourceObject Object with field to be set.
+     * @param field          Field of type long.
+     * @param data           Data to set.
+     */
+    void setLongField(Resource resourceObject, Field field, long data) {
+        try {
+            accessible(field).setLong(resourceObject, data);
+        } catch (IllegalAccessException e) {
+            Logger.debug("Could not access " + field.getName() + " field");
+        } catch (RuntimeException e) {
+            Logger.debug("Could not set " + field.getName() + " field");
+        }
+    }
+
+    /**
+     * Sets a primitive short field without boxing the value.
+     *
+     * @param resourceObject Object with field to be set.
+     * @param field          Field of type short.
+     * @param data           Data to set.
+     */
+    void setShortField(Resource resourceObject, Field field, short data) {
+        try {
+            accessible(field).setShort(resourceObject, data);
+        } catch (IllegalAccessException e) {
+            Logger.debug("Could not access " + field.getName() + " field");
+        } catch (RuntimeException e) {
+            Logger.debug("Could not set " + field.getName() + " field");
+        }
+    }
+
+    /**
+     * Sets a primitive byte field without boxing the value.
+     *
+     * @param resourceObject Object with field to be set.
+     * @param field          Field of type byte.
+     * @param data           Data to set.
+     */
+    void setByteField(Resource resourceObject, Field field, byte data) {
+        try {
+            accessible(field).setByte(resourceObject, data);
+        } catch (IllegalAccessException e) {
+            Logger.debug("Could not access " + field.getName() + " field");
+        } catch (RuntimeException e) {
+            Logger.debug("Could not set " + field.getName() + " field");
+        }
+    }
+
+    /**
+     * Sets a primitive double field without boxing the value.
+     *
+     * @param resourceObject Object with field to be set.
+     * @param field          Field of type double.
+     * @param data           Data to set.
+     */
+    void setDoubleField(Resource resourceObject, Field field, double data) {
+        try {
+            accessible(field).setDouble(resourceObject, data);
+        } catch (IllegalAccessException e) {
+            Logger.debug("Could not access " + field.getName() + " field");
+        } catch (RuntimeException e) {
+            Logger.debug("Could not set " + field.getName() + " field");
+        }
+    }
+
+    /**
+     * Sets a primitive float field without boxing the value.
+     *
+     * @param resourceObject Object with field to be set.
+     * @param field          Field of type float.
+     * @param data           Data to set.
+     */
+    void setFloatField(Resource resourceObject, Field field, float data) {
+        try {
+            accessible(field).setFloat(resourceObject, data);
+        } catch (IllegalAccessException e) {
+            Logger.debug("Could not access " + field.getName() + " field");
+        } catch (RuntimeException e) {
+            Logger.debug("Could not set " + field.getName() + " field");
+        }
+    }
+
+    /**
+     * Sets a primitive boolean field without boxing the value.
+     *
+     * @param resourceObject Object with field to be set.
+     * @param field          Field of type boolean.
+     * @param data           Data to set.
+     */
+    void setBooleanField(Resource resourceObject, Field field, boolean data) {
+        try {
+            accessible(field).setBoolean(resourceObject, data);
+        } catch (IllegalAccessException e) {
+            Logger.debug("Could not access " + field.getName() + " field");
+        } catch (RuntimeException e) {
+            Logger.debug("Could not set " + field.getName() + " field");
+        }
+    }
+
+    /**
+     * The field stays accessible, fields passed to the typed setters are shared
+     * (see {@link ResourceFields}) and resetting them would break other readers.
+     */
+    private static Field accessible(Field field) {
+        if (!field.isAccessible()) {
+            field.setAccessible(true);
+        }
+        return field;
+    }
+
+    Object getRelationField(Resource resourceObject, Class clazz, String fieldName) {
+        Field field = null;
+        try {
+            field = clazz.getDeclaredField(fieldName);
+            boolean accessible = field.isAccessible();
+            field.setAccessible(true);
+            try {
+                return field.get(resourceObject);
+            } catch (IllegalAccessException e) {
+                Logger.debug("Could not access " + field.getName() + " field");
+            } catch (RuntimeException e) {
+                Logger.debug("Could not set " + field.getName() + " field");
+            } finally {
+                field.setAccessible(accessible);
+            }
+        } catch (NoSuchFieldException e) {
+            Logger.debug("Field " + fieldName + " not found.");
+        }
+        return null;
+    }
+
+    /**
+     * Sets the Id field of the resourceObject extending {@link Resource}.
+     *
+     * @param resourceObject Object extending {@link Resource}.
+     * @param data           Data with Id (as String or Int)
+     * @return ResourceObject with set Id as String.
+     * @throws NotExtendingResourceException when none of the superclasses are {@link Resource}.
+     */
+    Resource setIdField(Resource resourceObject, Object data) throws NotExtendingResourceException {
+        if (ResourceFields.of(resourceObject.getClass()).hasNumericId() && setNumericId(resourceObject, data)) {
+            return resourceObject;
+        }
+
+        resourceObject.setId(data instanceof String ? (String) data : String.valueOf(data));
+        return resourceObject;
+    }
+
+    /**
+     * Sets the id as long if it is an integral number or a String that is written like one
+     * (no sign, no leading zeros), so {@link Resource#getId()} returns the same String.
+     *
+     * @return True if the id was set.
+     */
+    private static boolean setNumericId(Resource resourceObject, Object data) {
+        if (data instanceof Integer || data instanceof Long) {
+            long id = ((Number) data).longValue();
+            if (id >= 0) {
+                resourceObject.setNumericId(id, String.valueOf(id));
+                return true;
+            }
+            return false;
+        }
+        if (!(data instanceof String)) {
+            return false;
+        }
+
+        String string = (String) data;
+        int length = string.length();
+        if (length == 0 || length > 18 || (length > 1 && string.charAt(0) == '0')) {
+            return false;
+        }
+        long id = 0;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            id = id * 10 + (c - '0');
+        }
+        resourceObject.setNumericId(id, string);
+        return true;
+    }
+
+    Resource setTypeField(Resource resourceObject, Object data) {
+        return setField(resourceObject, Resource.class, "type", data);
+    }
+
+    static HashMap<String, Class> getRegisteredClasses() {
+        return registeredClasses;
+    }
+
+    static void setRegisteredClasses(HashMap<String, Class> registeredClasses) {
+        at.rags.morpheus.Deserializer.registeredClasses = registeredClasses;
+        HashMap<String, String> typeNames = new HashMap<>();
+        for (String typeName : registeredClasses.keySet()) {
+            typeNames.put(typeName, typeName);
+        }
+        at.rags.morpheus.Deserializer.registeredTypeNames = typeNames;
+    }
+}
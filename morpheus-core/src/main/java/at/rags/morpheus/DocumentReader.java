@@ -0,0 +1,365 @@
+package at.rags.morpheus;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Set;
+
+import at.rags.morpheus.exceptions.ParseLimitExceededException;
+
+/**
+ * Tokenizes a json:api document into a JSONObject while checking {@link ParseLimits} and
+ * skipping the members excluded by the {@link ParseOptions}.
+ * <p>
+ * The document is streamed with a (lenient) {@link JsonReader}, so members beyond a limit are
+ * rejected or skipped before anything is allocated for them. Values are converted the same way
+ * org.json does (Integer, Long, Double, String, Boolean, {@link JSONObject#NULL}) and duplicate
+ * names fail like in org.json, except for members that are skipped. The only difference is -0,
+ * which JsonReader reads as the integer 0 instead of the Double -0.0.
+ */
+final class DocumentReader {
+
+    private static final Object SKIPPED = new Object();
+
+    private enum Role {
+        DOCUMENT, DATA_ARRAY, INCLUDED_ARRAY, RESOURCE, INCLUDED_RESOURCE, ATTRIBUTES, RELATIONSHIPS, OTHER
+    }
+
+    private final ParseLimits limits;
+    private final ParseOptions options;
+    private String json;
+    private PositionReader source;
+    private int skippedResourceCount;
+    private int skippedBytes;
+
+    DocumentReader(ParseLimits limits) {
+        this(limits, new ParseOptions());
+    }
+
+    DocumentReader(ParseLimits limits, ParseOptions options) {
+        this.limits = limits;
+        this.options = options;
+    }
+
+    /**
+     * Reads the document.
+     *
+     * @param json json:api document.
+     * @return JSONObject of the document.
+     * @throws JSONException when the json is not valid or exceeds a limit.
+     */
+    JSONObject read(String json) throws JSONException {
+        return read(json, null);
+    }
+
+    /**
+     * Reads only some members of the document, the others are skipped without building them.
+     *
+     * @param json    json:api document.
+     * @param members Names of the top level members to keep, null to keep all.
+     * @return JSONObject of the document with the kept members.
+     * @throws JSONException when the json is not valid or exceeds a limit.
+     */
+    JSONObject read(String json, Set<String> members) throws JSONException {
+        int maxLength = limits.getMaxDocumentLength();
+        if (json.length() > maxLength || (json.length() > maxLength / 3 && utf8Length(json, 0, json.length()) > maxLength)) {
+            throw new ParseLimitExceededException("Document length " + utf8Length(json, 0, json.length())
+                + " exceeds " + maxLength);
+        }
+
+        this.json = json;
+        source = new PositionReader(json);
+        JsonReader reader = new JsonReader(source);
+        reader.setLenient(true);
+        try {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new JSONException("A JSONObject text must begin with '{'");
+            }
+            return (JSONObject) readValue(reader, 1, Role.DOCUMENT, members);
+        } catch (IOException e) {
+            throw jsonException(e);
+        } catch (IllegalStateException e) {
+            throw jsonException(e);
+        } catch (NumberFormatException e) {
+            throw jsonException(e);
+        }
+    }
+
+    /**
+     * @param members Names of the members to keep if the value is an object, null to keep all.
+     */
+    private Object readValue(JsonReader reader, int depth, Role role, Set<String> members) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                if (depth > limits.getMaxDepth()) {
+                    return exceeded(reader, "Depth " + depth + " exceeds " + limits.getMaxDepth());
+                }
+                return readObject(reader, depth, role, members);
+            case BEGIN_ARRAY:
+                if (depth > limits.getMaxDepth()) {
+                    return exceeded(reader, "Depth " + depth + " exceeds " + limits.getMaxDepth());
+                }
+                return readArray(reader, depth, role);
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return number(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            default:
+                throw new JSONException("Unexpected " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    private Object readObject(JsonReader reader, int depth, Role role, Set<String> members) throws IOException {
+        JSONObject jsonObject = new JSONObject();
+        Set<String> projection = null;
+        int count = 0;
+
+        reader.beginObject();
+        boolean resource = role == Role.RESOURCE || role == Role.INCLUDED_RESOURCE;
+        int start = resource && options.skipsResources() ? source.position() - 1 : -1;
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (role == Role.DOCUMENT && "included".equals(name) && !options.parsesIncluded()) {
+                reader.skipValue();
+                continue;
+            }
+            if (members != null && !members.contains(name)) {
+                reader.skipValue();
+                continue;
+            }
+            if (role == Role.ATTRIBUTES && count >= limits.getMaxAttributesPerResource()) {
+                exceeded(reader, "Attributes at " + reader.getPath() + " exceed "
+                    + limits.getMaxAttributesPerResource());
+                continue;
+            }
+            if (resource && "type".equals(name) && reader.peek() == JsonToken.STRING) {
+                String type = reader.nextString();
+                if (skipsResource(type, role)) {
+                    while (reader.hasNext()) {
+                        reader.nextName();
+                        reader.skipValue();
+                    }
+                    reader.endObject();
+                    skippedResourceCount++;
+                    int end = source.position();
+                    if (start >= 0 && json.charAt(start) == '{' && json.charAt(end - 1) == '}') {
+                        skippedBytes += utf8Length(json, start, end);
+                    } else if (start >= 0) {
+                        Logger.debug("Bytes of the skipped resource at " + reader.getPath() + " not counted");
+                    }
+                    return SKIPPED;
+                }
+                projection = options.getProjection(type);
+                put(jsonObject, name, type);
+                count++;
+                continue;
+            }
+
+            Role memberRole = memberRole(role, name, reader.peek());
+            Object value = readValue(reader, depth + 1, memberRole,
+                memberRole == Role.ATTRIBUTES || memberRole == Role.RELATIONSHIPS ? projection : null);
+            if (value != SKIPPED) {
+                put(jsonObject, name, value);
+                count++;
+            }
+        }
+        reader.endObject();
+
+        return jsonObject;
+    }
+
+    /**
+     * Puts the member, duplicate names fail like in org.json.
+     */
+    private static void put(JSONObject jsonObject, String name, Object value) throws JSONException {
+        if (jsonObject.has(name)) {
+            throw new JSONException("Duplicate key \"" + name + "\"");
+        }
+        jsonObject.put(name, value);
+    }
+
+    /**
+     * Resources of ignored or unregistered types are skipped depending on the options, included
+     * resources of types without a projection when the options have projections.
+     */
+    private boolean skipsResource(String type, Role role) {
+        return options.skipsType(type)
+            || (role == Role.INCLUDED_RESOURCE && options.hasProjections() && options.getProjection(type) == null);
+    }
+
+    /**
+     * @return Number of data and included resources skipped by their type.
+     */
+    int getSkippedResourceCount() {
+        return skippedResourceCount;
+    }
+
+    /**
+     * @return Number of UTF-8 bytes of the skipped resources.
+     */
+    int getSkippedBytes() {
+        return skippedBytes;
+    }
+
+    private JSONArray readArray(JsonReader reader, int depth, Role role) throws IOException {
+        JSONArray jsonArray = new JSONArray();
+        int maxElements = role == Role.DATA_ARRAY ? limits.getMaxDataResources()
+            : role == Role.INCLUDED_ARRAY ? limits.getMaxIncludedResources() : ParseLimits.UNLIMITED;
+        Role elementRole = role == Role.DATA_ARRAY ? Role.RESOURCE
+            : role == Role.INCLUDED_ARRAY ? Role.INCLUDED_RESOURCE : Role.OTHER;
+        int count = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (count >= maxElements) {
+                exceeded(reader, "Resources at " + reader.getPath() + " exceed " + maxElements);
+                continue;
+            }
+
+            Object value = readValue(reader, depth + 1, elementRole, null);
+            if (value != SKIPPED) {
+                jsonArray.put(value);
+                count++;
+            }
+        }
+        reader.endArray();
+
+        return jsonArray;
+    }
+
+    private static Role memberRole(Role role, String name, JsonToken token) {
+        if (role == Role.DOCUMENT) {
+            if ("data".equals(name)) {
+                return token == JsonToken.BEGIN_ARRAY ? Role.DATA_ARRAY : Role.RESOURCE;
+            }
+            if ("included".equals(name)) {
+                return Role.INCLUDED_ARRAY;
+            }
+        } else if (role == Role.RESOURCE || role == Role.INCLUDED_RESOURCE) {
+            if ("attributes".equals(name)) {
+                return Role.ATTRIBUTES;
+            }
+            if ("relationships".equals(name)) {
+                return Role.RELATIONSHIPS;
+            }
+        }
+        return Role.OTHER;
+    }
+
+    /**
+     * Fails or skips the next value depending on the policy.
+     */
+    private Object exceeded(JsonReader reader, String message) throws IOException {
+        if (limits.getPolicy() != ParseLimits.Policy.TRUNCATE) {
+            throw new ParseLimitExceededException(message);
+        }
+        Logger.debug("Truncated: " + message);
+        reader.skipValue();
+        return SKIPPED;
+    }
+
+    /**
+     * Converts a number like org.json: Integer or Long for integers written in their canonical
+     * form, Double for finite decimals and the text of the number otherwise (e.g. integers
+     * beyond long), so no precision is lost.
+     */
+    private static Object number(String string) {
+        if (string.indexOf('.') > -1 || string.indexOf('e') > -1 || string.indexOf('E') > -1 || "-0".equals(string)) {
+            Double value = Double.valueOf(string);
+            if (!value.isInfinite() && !value.isNaN()) {
+                return value;
+            }
+        } else {
+            try {
+                long value = Long.parseLong(string);
+                if (string.equals(Long.toString(value))) {
+                    if (value == (int) value) {
+                        return (int) value;
+                    }
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                Logger.debug("Number " + string + " does not fit into long");
+            }
+        }
+        return string;
+    }
+
+    /**
+     * @return Number of bytes of the chars from start to end encoded as UTF-8.
+     */
+    static int utf8Length(String string, int start, int end) {
+        int length = end - start;
+        for (int i = start; i < end; i++) {
+            char c = string.charAt(i);
+            if (c >= 0x80) {
+                // 2 bytes up to 0x7FF, 3 bytes above, 4 bytes per surrogate pair
+                length += c < 0x800 || (c >= '\uD800' && c <= '\uDFFF') ? 1 : 2;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Reader of the document counting the chars handed to the JsonReader. Every read ends after
+     * the next brace, JsonReader only reads when it needs more chars, so the count is the offset
+     * right after a brace the JsonReader has just consumed.
+     * <p>
+     * This relies on how JsonReader buffers (checked for gson 2.8.0). The only read ahead is the
+     * check for a non-execute prefix, 5 chars from the document start, which ends at the first
+     * brace after them at the latest and that brace can not start a resource. Should a resource
+     * be read ahead anyway, it is still counted as skipped but its bytes are not.
+     */
+    private static final class PositionReader extends Reader {
+        private final String json;
+        private int position;
+
+        PositionReader(String json) {
+            this.json = json;
+        }
+
+        int position() {
+            return position;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position >= json.length()) {
+                return -1;
+            }
+            int end = Math.min(json.length(), position + length);
+            int i = position;
+            while (i < end) {
+                char c = json.charAt(i++);
+                if (c == '{' || c == '}') {
+                    break;
+                }
+            }
+            json.getChars(position, i, buffer, offset);
+            int count = i - position;
+            position = i;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static JSONException jsonException(Exception cause) {
+        JSONException exception = new JSONException(cause.getMessage());
+        exception.initCause(cause);
+        return exception;
+    }
+}
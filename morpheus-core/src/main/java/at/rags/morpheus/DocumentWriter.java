@@ -0,0 +1,303 @@
+package at.rags.morpheus;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Writes json:api documents from the data representations of {@link Mapper}.
+ * <p>
+ * Every resource is serialized on its own and the json fragments are copied into the document.
+ * With the cache enabled the fragment is kept in the resource (see {@link SerializedForm}) and
+ * reused as long as the resource does not change.
+ * <p>
+ * With a {@link ForkJoinPool} set, large resource lists are split into chunks that get serialized
+ * in parallel into their own fragment lists and joined in the original order afterwards.
+ * <p>
+ * Chunks can serialize the same resource (e.g. an included resource shared by several data
+ * resources) and update its cache concurrently. That is harmless as long as the resources are not
+ * modified meanwhile: every thread creates the same json, the {@link SerializedForm} is immutable
+ * and published through a volatile field, so a reader sees either no cache or a valid one and at
+ * worst serializes the resource again.
+ */
+class DocumentWriter {
+
+    private static final String KEY_DATA = "data";
+    private static final String KEY_LIST_ITEM = "item:";
+    private static final int CHUNK_SIZE = 128;
+
+    private Mapper mapper;
+    private Gson gson;
+    private boolean cacheEnabled;
+    private ForkJoinPool pool;
+
+    DocumentWriter(Mapper mapper) {
+        this.mapper = mapper;
+        this.gson = new GsonBuilder().serializeNulls().create();
+    }
+
+    /**
+     * Writes data and (optional) included of a JsonApiObject.
+     *
+     * @param jsonApiObject JsonApiObject to serialize.
+     * @param addIncluded   Add includes for relationships.
+     * @return Json as String.
+     */
+    String write(JsonApiObject jsonApiObject, boolean addIncluded) {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter writer = new JsonWriter(stringWriter);
+        writer.setSerializeNulls(true);
+
+        try {
+            writer.beginObject();
+
+            if (jsonApiObject.getResources() != null) {
+                List<String> data = isParallel(jsonApiObject.getResources())
+                    ? parallelListFragments(jsonApiObject.getResources())
+                    : listFragments(jsonApiObject.getResources());
+                if (data != null) {
+                    writer.name("data");
+                    writeArray(writer, data);
+                }
+            } else if (jsonApiObject.getResource() != null) {
+                String data = fragment(jsonApiObject.getResource());
+                if (data != null) {
+                    writer.name("data").jsonValue(data);
+                }
+            }
+
+            if (addIncluded) {
+                List<String> included = new ArrayList<>();
+                if (jsonApiObject.getResource() != null) {
+                    included.addAll(includedFragments(jsonApiObject.getResource()));
+                }
+                if (jsonApiObject.getResources() != null && isParallel(jsonApiObject.getResources())) {
+                    included.addAll(parallelIncludedFragments(jsonApiObject.getResources()));
+                } else if (jsonApiObject.getResources() != null) {
+                    for (Resource resource : jsonApiObject.getResources()) {
+                        included.addAll(includedFragments(resource));
+                    }
+                }
+                writer.name("included");
+                writeArray(writer, included);
+            }
+
+            writer.endObject();
+            writer.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write json", e);
+        }
+
+        return stringWriter.toString();
+    }
+
+    /**
+     * Returns the fragment of a resource as in {@link Mapper#createData(Resource, boolean)}
+     * with attributes.
+     */
+    String fragment(Resource resource) {
+        if (!cacheEnabled) {
+            HashMap<String, Object> data = mapper.createData(resource, true);
+            return data == null ? null : gson.toJson(data);
+        }
+
+        SerializedForm serializedForm = resource.getSerializedForm();
+        if (serializedForm != null && serializedForm.isValidFor(resource, KEY_DATA)) {
+            return serializedForm.getJson();
+        }
+
+        HashMap<String, Object> data = mapper.createData(resource, true);
+        if (data == null) {
+            return null;
+        }
+        String json = gson.toJson(data);
+        resource.setSerializedForm(SerializedForm.create(resource, KEY_DATA, json));
+        return json;
+    }
+
+    /**
+     * Returns the fragments of resources as in {@link Mapper#createData(List, boolean)}
+     * with attributes or null if the type of the list is not registered.
+     */
+    List<String> listFragments(List<? extends Resource> resources) {
+        if (resources.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String resourceName = mapper.nameForResourceClass(resources.get(0).getClass());
+        if (resourceName == null) {
+            return null;
+        }
+
+        List<String> fragments = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            fragments.add(listItemFragment(resource, resourceName));
+        }
+        return fragments;
+    }
+
+    /**
+     * Returns the fragments of all relationships of a resource as in
+     * {@link Mapper#createIncluded(Resource)}.
+     */
+    @SuppressWarnings("unchecked")
+    List<String> includedFragments(Resource resource) {
+        HashMap<String, Object> relations = mapper.getSerializer().getRelationships(resource);
+        List<String> included = new ArrayList<>();
+
+        for (Object relationObject : relations.values()) {
+            if (relationObject instanceof Resource) {
+                String data = fragment((Resource) relationObject);
+                if (data != null) {
+                    included.add(data);
+                }
+            }
+
+            if (relationObject instanceof ArrayList) {
+                List<String> dataArray = listFragments((List<Resource>) relationObject);
+                if (dataArray != null) {
+                    included.addAll(dataArray);
+                }
+            }
+        }
+
+        return included;
+    }
+
+    private String listItemFragment(Resource resource, String resourceName) {
+        if (!cacheEnabled) {
+            return gson.toJson(mapper.createListItemData(resource, resourceName, true));
+        }
+
+        String key = KEY_LIST_ITEM + resourceName;
+        SerializedForm serializedForm = resource.getSerializedForm();
+        if (serializedForm != null && serializedForm.isValidFor(resource, key)) {
+            return serializedForm.getJson();
+        }
+
+        String json = gson.toJson(mapper.createListItemData(resource, resourceName, true));
+        resource.setSerializedForm(SerializedForm.create(resource, key, json));
+        return json;
+    }
+
+    private boolean isParallel(List<? extends Resource> resources) {
+        return pool != null && resources.size() > CHUNK_SIZE;
+    }
+
+    /**
+     * Parallel version of {@link #listFragments(List)}.
+     */
+    private List<String> parallelListFragments(final List<? extends Resource> resources) {
+        final String resourceName = mapper.nameForResourceClass(resources.get(0).getClass());
+        if (resourceName == null) {
+            return null;
+        }
+
+        return serializeChunks(resources, new ChunkSerializer() {
+            @Override
+            public void serialize(Resource resource, List<String> fragments) {
+                fragments.add(listItemFragment(resource, resourceName));
+            }
+        });
+    }
+
+    /**
+     * Parallel version of {@link #includedFragments(Resource)} for all resources.
+     */
+    private List<String> parallelIncludedFragments(List<? extends Resource> resources) {
+        return serializeChunks(resources, new ChunkSerializer() {
+            @Override
+            public void serialize(Resource resource, List<String> fragments) {
+                fragments.addAll(includedFragments(resource));
+            }
+        });
+    }
+
+    /**
+     * @return The fragments of all chunks in the order of the resources.
+     */
+    private List<String> serializeChunks(List<? extends Resource> resources, ChunkSerializer chunkSerializer) {
+        int chunkCount = (resources.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        String[][] chunks = new String[chunkCount][];
+        pool.invoke(new ChunkTask(resources, chunkSerializer, chunks, 0, chunkCount));
+
+        int size = 0;
+        for (String[] chunk : chunks) {
+            size += chunk.length;
+        }
+        List<String> fragments = new ArrayList<>(size);
+        for (String[] chunk : chunks) {
+            fragments.addAll(Arrays.asList(chunk));
+        }
+        return fragments;
+    }
+
+    private static void writeArray(JsonWriter writer, List<String> fragments) throws IOException {
+        writer.beginArray();
+        for (String fragment : fragments) {
+            writer.jsonValue(fragment);
+        }
+        writer.endArray();
+    }
+
+    void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    private interface ChunkSerializer {
+        void serialize(Resource resource, List<String> fragments);
+    }
+
+    /**
+     * Serializes the chunks [fromChunk, toChunk) by splitting them in half until one is left.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends Resource> resources;
+        private final ChunkSerializer chunkSerializer;
+        private final String[][] chunks;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ChunkTask(List<? extends Resource> resources, ChunkSerializer chunkSerializer, String[][] chunks,
+                  int fromChunk, int toChunk) {
+            this.resources = resources;
+            this.chunkSerializer = chunkSerializer;
+            this.chunks = chunks;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ChunkTask(resources, chunkSerializer, chunks, fromChunk, middle),
+                    new ChunkTask(resources, chunkSerializer, chunks, middle, toChunk));
+                return;
+            }
+
+            int from = fromChunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, resources.size());
+            List<String> fragments = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunkSerializer.serialize(resources.get(i), fragments);
+            }
+            chunks[fromChunk] = fragments.toArray(new String[fragments.size()]);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package at.rags.morpheus;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of json names to enum constants, built once per enum class.
+ * <p>
+ * Names follow gson's enum adapter: the {@link SerializedName} value and its alternates
+ * when the constant is annotated, the constant name otherwise.
+ */
+final class EnumLookup {
+
+    private static final ConcurrentHashMap<Class<?>, EnumLookup> LOOKUPS = new ConcurrentHashMap<>();
+
+    private final HashMap<String, Object> constants = new HashMap<>();
+
+    private EnumLookup(Class<?> enumClass) {
+        for (Object constant : enumClass.getEnumConstants()) {
+            String name = ((Enum<?>) constant).name();
+            SerializedName annotation = null;
+            try {
+                Field field = enumClass.getField(name);
+                annotation = field.getAnnotation(SerializedName.class);
+            } catch (NoSuchFieldException e) {
+                Logger.debug("Enum constant " + name + " has no field.", e);
+            }
+
+            if (annotation == null) {
+                constants.put(name, constant);
+            } else {
+                constants.put(annotation.value(), constant);
+                for (String alternate : annotation.alternate()) {
+                    constants.put(alternate, constant);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param enumClass Enum class.
+     * @return Cached lookup of the enum class.
+     */
+    static EnumLookup of(Class<?> enumClass) {
+        EnumLookup lookup = LOOKUPS.get(enumClass);
+        if (lookup == null) {
+            lookup = new EnumLookup(enumClass);
+            EnumLookup existing = LOOKUPS.putIfAbsent(enumClass, lookup);
+            if (existing != null) {
+                lookup = existing;
+            }
+        }
+        return lookup;
+    }
+
+    /**
+     * @param name Json value.
+     * @return Enum constant or null if no constant has the name.
+     */
+    Object get(String name) {
+        return constants.get(name);
+    }
+}
@@ -0,0 +1,122 @@
+package at.rags.morpheus;
+
+/**
+ * Listener for the parse lifecycle of {@link Morpheus}.
+ * <p>
+ * Extend this class and override the events you are interested in, then register it with
+ * {@link Morpheus#setEventListener(EventListener)}. All methods are called on the parsing (or
+ * serializing) thread, keep them fast. Phases without a corresponding member in the document are
+ * reported as well, except for error documents (errors without data) where only tokenize, links,
+ * meta and errors run. Resource and included matching events are only reported for resources of data
+ * and included, not for the resource identifiers of relationships.
+ *
+ * <pre>
+ * {@code
+ *  morpheus.setEventListener(new EventListener() {
+ *    @Override
+ *    public void parseEnd(ParseMetrics metrics) {
+ *      Log.d("Parse", metrics.getTotalNanos() / 1000 + "us for " + metrics.getResourceCount());
+ *    }
+ *  });
+ * }
+ * </pre>
+ */
+public abstract class EventListener {
+
+    /**
+     * Listener that ignores all events. Counting and timing are skipped with this listener.
+     */
+    public static final EventListener NONE = new EventListener() {
+    };
+
+    /**
+     * Invoked before the json string is tokenized.
+     */
+    public void parseStart() {
+    }
+
+    /**
+     * Invoked before a phase starts.
+     *
+     * @param phase Phase that starts.
+     */
+    public void phaseStart(ParsePhase phase) {
+    }
+
+    /**
+     * Invoked after a phase finished.
+     *
+     * @param phase         Finished phase.
+     * @param durationNanos Duration of the phase in nanoseconds.
+     */
+    public void phaseEnd(ParsePhase phase, long durationNanos) {
+    }
+
+    /**
+     * Invoked after the document got parsed.
+     *
+     * @param metrics Timings and counts of the parse.
+     */
+    public void parseEnd(ParseMetrics metrics) {
+    }
+
+    /**
+     * Invoked before a resource of data or included gets created and mapped.
+     *
+     * @param type Type of the resource.
+     */
+    public void resourceStart(String type) {
+    }
+
+    /**
+     * Invoked after a resource of data or included got created and mapped, also when the type
+     * is not registered.
+     *
+     * @param type Type of the resource.
+     */
+    public void resourceEnd(String type) {
+    }
+
+    /**
+     * Invoked before the relationships of a resource get matched to included resources.
+     *
+     * @param type Type of the resource.
+     */
+    public void includedMatchStart(String type) {
+    }
+
+    /**
+     * Invoked after the relationships of a resource got matched to included resources.
+     *
+     * @param type          Type of the resource.
+     * @param relationCount Number of related resources.
+     * @param matchedCount  Number of related resources found in included.
+     * @param includedCount Number of included resources.
+     */
+    public void includedMatchEnd(String type, int relationCount, int matchedCount, int includedCount) {
+    }
+
+    /**
+     * Invoked when the parse failed. {@link #parseEnd(ParseMetrics)} is not called then.
+     *
+     * @param metrics   Timings and counts until the failure.
+     * @param exception Exception thrown by the parse.
+     */
+    public void parseFailed(ParseMetrics metrics, Exception exception) {
+    }
+
+    /**
+     * Invoked before {@link Morpheus#createJson(JsonApiObject, Boolean)} serializes a document.
+     */
+    public void serializeStart() {
+    }
+
+    /**
+     * Invoked after {@link Morpheus#createJson(JsonApiObject, Boolean)} serialized a document.
+     *
+     * @param resourceCount Number of resources in data.
+     * @param length        Length of the json string.
+     */
+    public void serializeEnd(int resourceCount, int length) {
+    }
+}
@@ -29,31 +29,51 @@ class Factory {
      */
     static Resource newObjectFromJSONObject(JSONObject dataObject, List<at.rags.morpheus.Resource> included)
         throws ResourceCreationException, NotExtendingResourceException {
-        at.rags.morpheus.Resource realObject = null;
+        return newObjectFromJSONObject(dataObject, included, ParseContext.NONE);
+    }
 
+    /**
+     * Deserializes a json object of data to the registered class and counts the created
+     * resource in the context.
+     *
+     * @see #newObjectFromJSONObject(JSONObject, List)
+     */
+    static Resource newObjectFromJSONObject(JSONObject dataObject, List<at.rags.morpheus.Resource> included,
+                                            ParseContext context)
+        throws ResourceCreationException, NotExtendingResourceException {
         if (dataObject == null || dataObject.isNull("type")) return null;
         String type = dataObject.optString("type");
+        context.resourceStart(type);
         try {
-            realObject = deserializer.createObjectFromString(type);
-        } catch (IllegalAccessException e) {
-            throw new ResourceCreationException(e);
-        } catch (InstantiationException e) {
-            throw new ResourceCreationException(e);
-        } catch (NotExtendingResourceException e) {
-            throw e;
+            return createObject(dataObject, included, type, context);
+        } finally {
+            context.resourceEnd(type);
         }
+    }
 
-        if (realObject == null) return null;
-        realObject = mapper.mapId(realObject, dataObject);
-        realObject = mapper.mapType(realObject, dataObject);
+    private static Resource createObject(JSONObject dataObject, List<Resource> included, String type,
+                                         ParseContext context)
+        throws ResourceCreationException, NotExtendingResourceException {
+        ParseBatch batch = context.getBatch();
+        Resource realObject = batch == null ? null : batch.get(type, dataObject.opt("id"));
+        if (realObject == null) {
+            realObject = newObject(type, dataObject, context);
+            if (realObject == null) return null;
+            realObject = mapper.mapId(realObject, dataObject, context);
+            realObject = mapper.mapType(realObject, dataObject, context);
+            if (batch != null) {
+                batch.add(realObject);
+            }
+        }
+        context.resourceCreated();
         try {
-            realObject = mapper.mapAttributes(realObject, dataObject.getJSONObject("attributes"));
+            realObject = mapper.mapAttributes(realObject, dataObject.getJSONObject("attributes"), context);
         } catch (JSONException e) {
             Logger.debug("JSON does not contain attributes");
         }
 
         try {
-            realObject = mapper.mapRelations(realObject, dataObject.getJSONObject("relationships"), included);
+            realObject = mapper.mapRelations(realObject, dataObject.getJSONObject("relationships"), included, context);
         } catch (JSONException e) {
             Logger.debug("JSON data does not contain relationships");
         }
@@ -74,6 +94,28 @@ class Factory {
         return realObject;
     }
 
+    /**
+     * Returns an instance of the resource pool or a new instance.
+     */
+    private static Resource newObject(String type, JSONObject dataObject, ParseContext context)
+        throws ResourceCreationException, NotExtendingResourceException {
+        ResourcePool resourcePool = context.getResourcePool();
+        Resource realObject = resourcePool == null ? null : resourcePool.take(type, dataObject.opt("id"));
+        if (realObject != null) {
+            return realObject;
+        }
+
+        try {
+            return deserializer.createObjectFromString(type);
+        } catch (IllegalAccessException e) {
+            throw new ResourceCreationException(e);
+        } catch (InstantiationException e) {
+            throw new ResourceCreationException(e);
+        } catch (NotExtendingResourceException e) {
+            throw e;
+        }
+    }
+
     /**
      * Loops through data objects and deserializes them.
      *
@@ -85,6 +127,17 @@ class Factory {
      */
     static List<Resource> newObjectFromJSONArray(JSONArray dataArray, List<Resource> included)
         throws ResourceCreationException, NotExtendingResourceException {
+        return newObjectFromJSONArray(dataArray, included, ParseContext.NONE);
+    }
+
+    /**
+     * Loops through data objects and deserializes them with the context.
+     *
+     * @see #newObjectFromJSONArray(JSONArray, List)
+     */
+    static List<Resource> newObjectFromJSONArray(JSONArray dataArray, List<Resource> included,
+                                                 ParseContext context)
+        throws ResourceCreationException, NotExtendingResourceException {
         ArrayList<Resource> objects = new ArrayList<>();
 
         for (int i = 0; i < dataArray.length(); i++) {
@@ -95,7 +148,7 @@ class Factory {
             } catch (JSONException e) {
                 Logger.debug("Was not able to get dataArray[" + i + "] as JSONObject.");
             }
-            Resource resource = newObjectFromJSONObject(jsonObject, included);
+            Resource resource = newObjectFromJSONObject(jsonObject, included, context);
             if (resource != null) objects.add(resource);
         }
         return objects;
@@ -14,6 +14,8 @@ public class JsonApiObject {
     private JSONObject meta;
     private List<Error> errors;
     private at.rags.morpheus.Links links;
+    private List<Operation> operations;
+    private List<JsonApiObject> results;
 
     //getters & setters
 
@@ -64,4 +66,28 @@ public class JsonApiObject {
     public void setLinks(Links links) {
         this.links = links;
     }
+
+    /**
+     * @return Operations of an atomic operations document ("atomic:operations") or null.
+     */
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * @return Results of an atomic operations response ("atomic:results") in the order of the
+     * operations or null. Every result contains its resource and meta, results of operations
+     * without data contain neither.
+     */
+    public List<JsonApiObject> getResults() {
+        return results;
+    }
+
+    public void setResults(List<JsonApiObject> results) {
+        this.results = results;
+    }
 }
@@ -0,0 +1,59 @@
+package at.rags.morpheus;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+
+/**
+ * Converts parsed org.json values to gson trees, so gson type adapters can read them
+ * without the value being written to a string and parsed again.
+ */
+final class JsonTree {
+
+    private JsonTree() {
+    }
+
+    /**
+     * @param value {@link JSONObject}, {@link JSONArray}, {@link JSONObject#NULL}, String, Number or Boolean.
+     * @return Gson tree of the value.
+     */
+    static JsonElement toJsonElement(Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject jsonObject = (JSONObject) value;
+            JsonObject object = new JsonObject();
+            for (Iterator<String> iter = jsonObject.keys(); iter.hasNext(); ) {
+                String key = iter.next();
+                object.add(key, toJsonElement(jsonObject.opt(key)));
+            }
+            return object;
+        }
+        if (value instanceof JSONArray) {
+            JSONArray jsonArray = (JSONArray) value;
+            JsonArray array = new JsonArray();
+            for (int i = 0; i < jsonArray.length(); i++) {
+                array.add(toJsonElement(jsonArray.opt(i)));
+            }
+            return array;
+        }
+        if (value == null || value == JSONObject.NULL) {
+            return JsonNull.INSTANCE;
+        }
+        if (value instanceof String) {
+            return new JsonPrimitive((String) value);
+        }
+        if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        }
+        if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        }
+        return new JsonPrimitive(value.toString());
+    }
+}
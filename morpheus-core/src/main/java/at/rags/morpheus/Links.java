@@ -1,8 +1,5 @@
 package at.rags.morpheus;
 
-import android.os.Parcel;
-import android.os.Parcelable;
-
 import java.io.Serializable;
 
 /**
@@ -12,7 +9,7 @@ import java.io.Serializable;
  * @see Resource
  * @author kwaky
  */
-public class Links implements Serializable, Parcelable {
+public class Links implements Serializable {
   private String selfLink;
   private String related; // TODO: related can also have a meta
   private String first;
@@ -24,28 +21,21 @@ public class Links implements Serializable, Parcelable {
   public Links() {
   }
 
-  protected Links(Parcel in) {
-    selfLink = in.readString();
-    related = in.readString();
-    first = in.readString();
-    last = in.readString();
-    prev = in.readString();
-    next = in.readString();
-    about = in.readString();
+  /**
+   * Creates a copy of links.
+   *
+   * @param links Links to copy.
+   */
+  public Links(Links links) {
+    selfLink = links.selfLink;
+    related = links.related;
+    first = links.first;
+    last = links.last;
+    prev = links.prev;
+    next = links.next;
+    about = links.about;
   }
 
-  public static final Creator<Links> CREATOR = new Creator<Links>() {
-    @Override
-    public Links createFromParcel(Parcel in) {
-      return new Links(in);
-    }
-
-    @Override
-    public Links[] newArray(int size) {
-      return new Links[size];
-    }
-  };
-
   public String getSelfLink() {
     return selfLink;
   }
@@ -101,20 +91,4 @@ public class Links implements Serializable, Parcelable {
   public void setAbout(String about) {
     this.about = about;
   }
-
-  @Override
-  public int describeContents() {
-    return 0;
-  }
-
-  @Override
-  public void writeToParcel(Parcel dest, int flags) {
-    dest.writeString(selfLink);
-    dest.writeString(related);
-    dest.writeString(first);
-    dest.writeString(last);
-    dest.writeString(prev);
-    dest.writeString(next);
-    dest.writeString(about);
-  }
 }
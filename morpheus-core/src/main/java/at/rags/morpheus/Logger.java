@@ -0,0 +1,54 @@
+package at.rags.morpheus;
+
+import java.util.logging.Level;
+
+/**
+ * Logger you can turn on and off.
+ * <p>
+ * Messages go to {@link java.util.logging} by default, set your own {@link Output}
+ * with {@link #setOutput(Output)} (e.g. the logcat output of the Android module).
+ */
+public class Logger {
+  private static final String TAG = "Morpheus";
+  private static boolean debug = false;
+  private static Output output = new JavaLoggingOutput();
+
+  public static void debug(String message) {
+    if (debug) {
+      output.debug(TAG, message, null);
+    }
+  }
+
+  public static void debug(String message, Throwable throwable) {
+    if (debug) {
+      output.debug(TAG, message, throwable);
+    }
+  }
+
+  public static void setDebug(boolean debug) {
+    at.rags.morpheus.Logger.debug = debug;
+  }
+
+  public static void setOutput(Output output) {
+    at.rags.morpheus.Logger.output = output == null ? new JavaLoggingOutput() : output;
+  }
+
+  /**
+   * Destination of debug messages.
+   */
+  public interface Output {
+    /**
+     * @param tag       Tag of the library.
+     * @param message   Message.
+     * @param throwable Cause or null.
+     */
+    void debug(String tag, String message, Throwable throwable);
+  }
+
+  private static class JavaLoggingOutput implements Output {
+    @Override
+    public void debug(String tag, String message, Throwable throwable) {
+      java.util.logging.Logger.getLogger(tag).log(Level.INFO, message, throwable);
+    }
+  }
+}
@@ -0,0 +1,831 @@
+package at.rags.morpheus;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import at.rags.morpheus.exceptions.NotExtendingResourceException;
+import at.rags.morpheus.exceptions.ResourceCreationException;
+
+/**
+ * Mapper will map all different top-level members and will
+ * also map the relations.
+ * <p>
+ * Includes will also mapped to matching relationship members.
+ */
+class Mapper {
+
+    private Deserializer deserializer;
+    private Serializer serializer;
+    private AttributeMapper attributeMapper;
+
+    Mapper() {
+        deserializer = new Deserializer();
+        serializer = new Serializer();
+        attributeMapper = new AttributeMapper();
+    }
+
+    Mapper(Deserializer deserializer, Serializer serializer, AttributeMapper attributeMapper) {
+        this.deserializer = deserializer;
+        this.serializer = serializer;
+        this.attributeMapper = attributeMapper;
+    }
+
+    //TODO map href and meta (http://jsonapi.org/format/#document-links)
+
+    /**
+     * Will map links and return them.
+     *
+     * @param linksJsonObject JSONObject from link.
+     * @return Links with mapped values.
+     */
+    at.rags.morpheus.Links mapLinks(JSONObject linksJsonObject) {
+        at.rags.morpheus.Links links = new at.rags.morpheus.Links();
+        try {
+            links.setSelfLink(linksJsonObject.getString("self"));
+        } catch (JSONException e) {
+            Logger.debug("JSON link does not contain self");
+        }
+
+        try {
+            links.setRelated(linksJsonObject.getString("related"));
+        } catch (JSONException e) {
+            Logger.debug("JSON link does not contain related");
+        }
+
+        try {
+            links.setFirst(linksJsonObject.getString("first"));
+        } catch (JSONException e) {
+            Logger.debug("JSON link does not contain first");
+        }
+
+        try {
+            links.setLast(linksJsonObject.getString("last"));
+        } catch (JSONException e) {
+            Logger.debug("JSON link does not contain last");
+        }
+
+        try {
+            links.setPrev(linksJsonObject.getString("prev"));
+        } catch (JSONException e) {
+            Logger.debug("JSON link does not contain prev");
+        }
+
+        try {
+            links.setNext(linksJsonObject.getString("next"));
+        } catch (JSONException e) {
+            Logger.debug("JSON link does not contain next");
+        }
+
+        return links;
+    }
+
+    /**
+     * Map the Id from json to the object.
+     *
+     * @param object         Object of the class.
+     * @param jsonDataObject JSONObject of the dataNode.
+     * @return Object with mapped fields.
+     * @throws NotExtendingResourceException Throws when the object is not extending {@link Resource}
+     */
+    Resource mapId(Resource object, JSONObject jsonDataObject) throws NotExtendingResourceException {
+        return mapId(object, jsonDataObject, ParseContext.NONE);
+    }
+
+    /**
+     * Map the Id from json to the object, pooled if the context pools ids.
+     *
+     * @see #mapId(Resource, JSONObject)
+     */
+    Resource mapId(Resource object, JSONObject jsonDataObject, ParseContext context)
+        throws NotExtendingResourceException {
+        try {
+            return deserializer.setIdField(object, context.id(jsonDataObject.get("id")));
+        } catch (JSONException e) {
+            Logger.debug("JSON data does not contain id.");
+        }
+
+        Object localId = jsonDataObject.opt("lid");
+        if (localId instanceof String) {
+            object.setLocalId((String) localId);
+        }
+
+        return object;
+    }
+
+    /**
+     * Map the Type from json to the object.
+     *
+     * @param object         Object of the class.
+     * @param jsonDataObject JSONObject of the dataNode.
+     * @return Object with mapped fields.
+     */
+    Resource mapType(Resource object, JSONObject jsonDataObject) {
+        return mapType(object, jsonDataObject, ParseContext.NONE);
+    }
+
+    /**
+     * Map the Type from json to the object, using the registered type name if the context
+     * deduplicates strings.
+     *
+     * @see #mapType(Resource, JSONObject)
+     */
+    Resource mapType(Resource object, JSONObject jsonDataObject, ParseContext context) {
+        try {
+            return deserializer.setTypeField(object, context.typeName(jsonDataObject.getString("type")));
+        } catch (JSONException e) {
+            Logger.debug("JSON data does not contain type.");
+        }
+
+        return object;
+    }
+
+    /**
+     * Maps the attributes of json to the object.
+     *
+     * @param object               Object of the class.
+     * @param attributesJsonObject Attributes object inside the data node.
+     * @return Object with mapped fields.
+     */
+    Resource mapAttributes(Resource object, JSONObject attributesJsonObject) {
+        return mapAttributes(object, attributesJsonObject, ParseContext.NONE);
+    }
+
+    /**
+     * Maps the attributes of json to the object and counts the bound attributes in the context.
+     *
+     * @see #mapAttributes(Resource, JSONObject)
+     */
+    Resource mapAttributes(Resource object, JSONObject attributesJsonObject, ParseContext context) {
+        if (attributesJsonObject == null) {
+            return object;
+        }
+
+        StringPool strings = context.getStringPool();
+        Set<String> projection = context.getOptions().getProjection(object.getType());
+        for (ResourceFields.AttributeField attribute : ResourceFields.of(object.getClass()).getAttributes()) {
+            if (projection != null && !projection.contains(attribute.getJsonName())) {
+                continue;
+            }
+            if (context.isRecording() && attributesJsonObject.has(attribute.getJsonName())) {
+                context.attributeBound();
+            }
+            if (context.mergesResources() && attributesJsonObject.opt(attribute.getJsonName()) == JSONObject.NULL) {
+                ResourceFields.clear(object, attribute.getField());
+                continue;
+            }
+            if (strings != null && attribute.getField().getType() == String.class
+                && strings.isPooledAttribute(attribute.getJsonName())) {
+                Object value = attributesJsonObject.opt(attribute.getJsonName());
+                if (value instanceof String) {
+                    deserializer.setField(object, attribute.getDeclaringClass(), attribute.getField().getName(),
+                        strings.intern((String) value));
+                    continue;
+                }
+            }
+            try {
+                attributeMapper.mapAttributeToObject(object, (Class) attribute.getDeclaringClass(), attributesJsonObject,
+                    attribute.getField(), attribute.getJsonName());
+            } catch (RuntimeException e) {
+                Logger.debug("Failed parse attribute: " + attribute.getJsonName() + ", class: "
+                    + attribute.getDeclaringClass().getName());
+            }
+        }
+
+        return object;
+    }
+
+    /**
+     * Loops through relation JSON array and maps annotated objects.
+     *
+     * @param object     Real object to map.
+     * @param jsonObject JSONObject.
+     * @param included   List of included resources.
+     * @return Real object with relations.
+     * @throws NotExtendingResourceException when deserializer is not able to create instance.
+     * @throws ResourceCreationException when deserializer is not able to create instance.
+     */
+    Resource mapRelations(Resource object, JSONObject jsonObject, List<Resource> included)
+        throws NotExtendingResourceException, ResourceCreationException {
+        return mapRelations(object, jsonObject, included, ParseContext.NONE);
+    }
+
+    /**
+     * Maps the relations and counts the bound relationships in the context.
+     *
+     * @see #mapRelations(Resource, JSONObject, List)
+     */
+    Resource mapRelations(Resource object, JSONObject jsonObject, List<Resource> included, ParseContext context)
+        throws NotExtendingResourceException, ResourceCreationException {
+        //going through relationship names annotated in Class
+        if (included != null) {
+            context.includedMatchStart(object);
+        }
+        Set<String> projection = context.getOptions().getProjection(object.getType());
+        for (ResourceFields.RelationshipField relationshipField : ResourceFields.of(object.getClass()).getRelationships()) {
+            Class<?> objClass = relationshipField.getDeclaringClass();
+            String fieldName = relationshipField.getField().getName();
+            String relationship = relationshipField.getName();
+            if (projection != null && !projection.contains(relationship)) {
+                continue;
+            }
+
+            JSONObject relationJsonObject = null;
+            try {
+                relationJsonObject = jsonObject.getJSONObject(relationship);
+            } catch (JSONException e) {
+                Logger.debug("Relationship named " + relationship + "not found in JSON");
+                continue;
+            }
+
+            //map relationships meta
+            JSONObject metaObject = null;
+            metaObject = relationJsonObject.optJSONObject("meta");
+            if (metaObject != null) {
+                object.setRelationshipMeta(relationship, metaObject);
+            }
+
+            if (context.getOptions().isIdentifiersOnly()) {
+                mapRelationIdentifiers(object, relationship, relationJsonObject.opt("data"), context);
+                continue;
+            }
+
+            //map json object of data
+            Object relationData = null;
+            try {
+                relationData = relationJsonObject.get("data");
+                if (relationData instanceof JSONObject) {
+                    Resource relationObject = Factory.newObjectFromJSONObject((JSONObject) relationData, null,
+                        context.relationContext());
+
+                    if (relationObject != null) {
+                        relationObject = matchIncludedToRelation(relationObject, included, context);
+                        if (included == null && context.getReferenceResolver() != null) {
+                            context.getReferenceResolver().add(object, relationshipField, relationObject);
+                        }
+                    }
+
+                    deserializer.setField(object, objClass, fieldName, relationObject);
+                    context.relationshipBound();
+                } else if (relationData instanceof JSONArray) {
+                    List<Resource> relationArray = Factory.newObjectFromJSONArray((JSONArray) relationData, null,
+                        context.relationContext());
+
+                    relationArray = matchIncludedToRelation(relationArray, included, context);
+                    if (included == null && context.getReferenceResolver() != null) {
+                        context.getReferenceResolver().add(object, relationArray);
+                    }
+
+                    deserializer.setField(object, objClass, fieldName, relationArray);
+                    context.relationshipBound();
+                } else if (relationData == JSONObject.NULL && context.mergesResources()) {
+                    relationshipField.set(object, null);
+                    context.relationshipBound();
+                }
+
+            } catch (JSONException e) {
+                Logger.debug("JSON relationship does not contain data");
+            }
+        }
+
+        if (included != null) {
+            context.includedMatchEnd(object, included);
+        }
+        return object;
+    }
+
+    /**
+     * Binds the resource identifiers of a relationship without creating resources for them.
+     *
+     * @param object       Resource with the relationship.
+     * @param relationship Name of the relationship.
+     * @param relationData Data member of the relationship.
+     * @param context      Context of the parse.
+     */
+    private void mapRelationIdentifiers(Resource object, String relationship, Object relationData,
+                                        ParseContext context) {
+        if (relationData instanceof JSONObject) {
+            ResourceIdentifier identifier = createIdentifier((JSONObject) relationData, context);
+            if (identifier != null) {
+                object.setRelationshipIdentifier(relationship, identifier);
+                context.relationshipBound();
+            }
+        } else if (relationData instanceof JSONArray) {
+            JSONArray dataArray = (JSONArray) relationData;
+            List<ResourceIdentifier> identifiers = new ArrayList<>(dataArray.length());
+            for (int i = 0; i < dataArray.length(); i++) {
+                JSONObject identifierObject = dataArray.optJSONObject(i);
+                ResourceIdentifier identifier = identifierObject == null ? null : createIdentifier(identifierObject, context);
+                if (identifier != null) {
+                    identifiers.add(identifier);
+                }
+            }
+            object.setRelationshipIdentifier(relationship, identifiers);
+            context.relationshipBound();
+        } else {
+            Logger.debug("JSON relationship does not contain data");
+        }
+    }
+
+    private static ResourceIdentifier createIdentifier(JSONObject identifierObject, ParseContext context) {
+        Object type = identifierObject.opt("type");
+        if (!(type instanceof String)) {
+            return null;
+        }
+        Object id = identifierObject.opt("id");
+        if (id == null || id == JSONObject.NULL) {
+            return new ResourceIdentifier(context.typeName((String) type), null);
+        }
+        return new ResourceIdentifier(context.typeName((String) type), context.relationContext().id(id).toString());
+    }
+
+    Resource mapRelations(Resource object, List<Resource> included)
+        throws NotExtendingResourceException, ResourceCreationException {
+        return mapRelations(object, included, ParseContext.NONE);
+    }
+
+    /**
+     * Matches the already mapped relations of a resource to included resources and reports the
+     * matching to the context.
+     *
+     * @param object   Resource with mapped relations.
+     * @param included List of included resources.
+     * @param context  Context of the parse.
+     * @return Resource with included relations.
+     */
+    Resource mapRelations(Resource object, List<Resource> included, ParseContext context)
+        throws NotExtendingResourceException, ResourceCreationException {
+        if (included != null) {
+            context.includedMatchStart(object);
+        }
+        //going through relationship names annotated in Class
+        for (ResourceFields.RelationshipField relationshipField : ResourceFields.of(object.getClass()).getRelationships()) {
+            Class<?> objClass = relationshipField.getDeclaringClass();
+            String fieldName = relationshipField.getField().getName();
+            Object relationObject = deserializer.getRelationField(object, objClass, fieldName);
+
+            if (relationObject != null) {
+                if (relationObject instanceof Resource) {
+                    relationObject = matchIncludedToRelation((Resource) relationObject, included, context);
+                } else if (relationObject instanceof List) {
+                    relationObject = matchIncludedToRelation((List<Resource>) relationObject, included, context);
+                }
+            }
+
+            deserializer.setField(object, objClass, fieldName, relationObject);
+        }
+
+        if (included != null) {
+            context.includedMatchEnd(object, included);
+        }
+        return object;
+    }
+
+
+    /**
+     * Will check if the relation is included. If true included object will be returned.
+     *
+     * @param object   Relation resources.
+     * @param included List of included resources.
+     * @param context  Context counting the matches.
+     * @return Relation of included resource.
+     */
+    private Resource matchIncludedToRelation(Resource object, List<Resource> included, ParseContext context) {
+        if (included == null) {
+            return object;
+        }
+
+        ResourceIndex index = context.includedIndex(included);
+        if (index != null) {
+            Resource resource = index.find(object);
+            context.relationMatched(resource != null);
+            return resource != null ? resource : object;
+        }
+
+        for (Resource resource : included) {
+            if (object.getId().equals(resource.getId()) && object.getClass().equals(resource.getClass())) {
+                context.relationMatched(true);
+                return resource;
+            }
+        }
+        context.relationMatched(false);
+        return object;
+    }
+
+    /**
+     * Loops through relations and calls {@link #matchIncludedToRelation(Resource, List, ParseContext)}.
+     *
+     * @param relationResources List of relation resources.
+     * @param included          List of included resources.
+     * @param context           Context counting the matches.
+     * @return List of relations and/or included resources.
+     */
+    private List<Resource> matchIncludedToRelation(List<Resource> relationResources, List<Resource> included,
+                                                   ParseContext context) {
+        List<Resource> matchedResources = new ArrayList<>();
+        for (Resource resource : relationResources) {
+            matchedResources.add(matchIncludedToRelation(resource, included, context));
+        }
+        return matchedResources;
+    }
+
+    /**
+     * Maps the errors array of an error document.
+     *
+     * @param errorArray JSONArray of the errors member.
+     * @return List of errors.
+     */
+    List<Error> mapErrors(JSONArray errorArray) {
+        List<Error> errors = new ArrayList<>(errorArray.length());
+
+        for (int i = 0; errorArray.length() > i; i++) {
+            JSONObject errorJsonObject = errorArray.optJSONObject(i);
+            if (errorJsonObject == null) {
+                Logger.debug("No index " + i + " in error json array");
+                continue;
+            }
+
+            Error error = new Error();
+            error.setId(optString(errorJsonObject, "id"));
+            error.setStatus(optString(errorJsonObject, "status"));
+            error.setCode(optString(errorJsonObject, "code"));
+            error.setTitle(optString(errorJsonObject, "title"));
+            error.setDetail(optString(errorJsonObject, "detail"));
+
+            JSONObject sourceJsonObject = errorJsonObject.optJSONObject("source");
+            if (sourceJsonObject != null) {
+                Source source = new Source();
+                source.setParameter(optString(sourceJsonObject, "parameter"));
+                source.setPointer(optString(sourceJsonObject, "pointer"));
+                error.setSource(source);
+            }
+
+            JSONObject linksJsonObject = errorJsonObject.optJSONObject("links");
+            String about = linksJsonObject != null ? optString(linksJsonObject, "about") : null;
+            if (about != null) {
+                ErrorLinks links = new ErrorLinks();
+                links.setAbout(about);
+                error.setLinks(links);
+            }
+
+            JSONObject metaJsonObject = errorJsonObject.optJSONObject("meta");
+            if (metaJsonObject != null) {
+                error.setMeta(attributeMapper.createMapFromJSONObject(metaJsonObject));
+            }
+
+            errors.add(error);
+        }
+
+        return errors;
+    }
+
+    /**
+     * Returns the string (or number and boolean as string) value of a member without throwing,
+     * null when it is missing or of another type.
+     */
+    private static String optString(JSONObject jsonObject, String name) {
+        Object value = jsonObject.opt(name);
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return null;
+    }
+
+    /**
+     * Create data representation from resources.
+     * This will return the representation of the resources as list of maps. Every item contains
+     * a map with the resource's id, type and relationships (if any). Attributes are only included
+     * when 'includeAttributes' is true.
+     *
+     * @param resources         List of resources.
+     * @param includeAttributes Add attributes map to representation.
+     * @return ArrayList of Hashmaps<String, Object>.
+     */
+    ArrayList<HashMap<String, Object>> createData(List<Resource> resources, boolean includeAttributes) {
+        String resourceName = null;
+        resourceName = nameForResourceClass(resources.get(0).getClass());
+        if (resourceName == null) return null;
+
+        ArrayList<HashMap<String, Object>> dataArray = new ArrayList<>();
+
+        for (Resource resource : resources) {
+            dataArray.add(createListItemData(resource, resourceName, includeAttributes));
+        }
+
+        return dataArray;
+    }
+
+    /**
+     * Create data representation of a single item of a resource list.
+     * Same as every item of {@link #createData(List, boolean)}, using the given resource name.
+     *
+     * @param resource          Resource to create data.
+     * @param resourceName      Type name of the list.
+     * @param includeAttributes Add attributes map to representation.
+     * @return Hashmaps<String, Object>.
+     */
+    HashMap<String, Object> createListItemData(Resource resource, String resourceName, boolean includeAttributes) {
+        HashMap<String, Object> attributes = serializer.getFieldsAsDictionary(resource);
+
+        HashMap<String, Object> resourceRepresentation = new HashMap<>();
+        resourceRepresentation.put("type", resourceName);
+        putId(resourceRepresentation, resource);
+        if (includeAttributes) {
+            resourceRepresentation.put("attributes", attributes);
+        }
+
+        HashMap<String, Object> relationships = createRelationships(resource);
+        if (relationships != null) {
+            resourceRepresentation.put("relationships", relationships);
+        }
+
+        return resourceRepresentation;
+    }
+
+    /**
+     * Puts the id of the resource, or its local id when it has no id yet.
+     */
+    private static void putId(HashMap<String, Object> resourceRepresentation, Resource resource) {
+        String id = resource.getId();
+        if (id == null && resource.getLocalId() != null) {
+            resourceRepresentation.put("lid", resource.getLocalId());
+        } else {
+            resourceRepresentation.put("id", id);
+        }
+    }
+
+    /**
+     * Create data represenation from resource.
+     * This will return the repersentation of the resource. The map contains the id, type and
+     * relationships (if any). Attributes are only included when 'includeAttributes' is true.
+     *
+     * @param resource          Resource to create data.
+     * @param includeAttributes Add attributes map to representation.
+     * @return Hashmaps<String, Object>.
+     */
+    HashMap<String, Object> createData(Resource resource, boolean includeAttributes) {
+        String resourceName = null;
+        resourceName = nameForResourceClass(resource.getClass());
+        if (resourceName == null) return null;
+
+        HashMap<String, Object> resourceRepresentation = new HashMap<>();
+        resourceRepresentation.put("type", resourceName);
+        putId(resourceRepresentation, resource);
+        if (includeAttributes) {
+            HashMap<String, Object> attributes = serializer.getFieldsAsDictionary(resource);
+            if (attributes != null) {
+                resourceRepresentation.put("attributes", attributes);
+            }
+        }
+
+        HashMap<String, Object> relationships = createRelationships(resource);
+        if (relationships != null) {
+            resourceRepresentation.put("relationships", relationships);
+        }
+
+        if (resource.getLinks() != null) {
+            resourceRepresentation.put("links",
+                createLinks(resource));
+        }
+
+        return resourceRepresentation;
+    }
+
+    /**
+     * Create the data representation of a PATCH request from a resource.
+     * Only attributes and relationships changed since {@link Resource#startTrackingChanges()}
+     * are added, cleared ones are added as null. Resources that are not tracked are represented
+     * like in {@link #createData(Resource, boolean)}.
+     *
+     * @param resource Resource to create data.
+     * @return Hashmaps<String, Object>.
+     */
+    HashMap<String, Object> createPatchData(Resource resource) {
+        Set<String> changedAttributes = resource.getChangedAttributes();
+        if (changedAttributes == null) {
+            return createData(resource, true);
+        }
+
+        String resourceName = nameForResourceClass(resource.getClass());
+        if (resourceName == null) return null;
+
+        HashMap<String, Object> resourceRepresentation = new HashMap<>();
+        resourceRepresentation.put("type", resourceName);
+        putId(resourceRepresentation, resource);
+
+        HashMap<String, Object> attributes = serializer.getFieldsAsDictionary(resource, changedAttributes);
+        if (attributes != null && !attributes.isEmpty()) {
+            resourceRepresentation.put("attributes", attributes);
+        }
+
+        HashMap<String, Object> relationships = new HashMap<>();
+        Set<String> changedRelationships = resource.getChangedRelationships();
+        for (ResourceFields.RelationshipField relationshipField : ResourceFields.of(resource.getClass()).getRelationships()) {
+            if (!changedRelationships.contains(relationshipField.getName())) {
+                continue;
+            }
+
+            Object relationObject = relationshipField.get(resource);
+            Object data = null;
+            if (relationObject instanceof Resource) {
+                data = createData((Resource) relationObject, false);
+            } else if (relationObject instanceof List) {
+                List relationList = (List) relationObject;
+                data = relationList.isEmpty() ? new ArrayList<>() : createData(relationList, false);
+            }
+
+            HashMap<String, Object> dataObject = new HashMap<>();
+            dataObject.put("data", data);
+            relationships.put(relationshipField.getName(), dataObject);
+        }
+        if (!relationships.isEmpty()) {
+            resourceRepresentation.put("relationships", relationships);
+        }
+
+        return resourceRepresentation;
+    }
+
+    /**
+     * Create the representation of an atomic operation. Add and update operations contain the
+     * resource as data (see {@link #createData(Resource, boolean)} and {@link #createPatchData(Resource)}),
+     * remove operations a reference to it.
+     *
+     * @param operation Operation to create the representation of.
+     * @return Hashmaps<String, Object> or null if the resource is not registered.
+     */
+    HashMap<String, Object> createOperation(Operation operation) {
+        HashMap<String, Object> operationRepresentation = new HashMap<>();
+        operationRepresentation.put("op", operation.getCode().getName());
+
+        Resource resource = operation.getResource();
+        if (operation.getRef() != null) {
+            HashMap<String, Object> ref = new HashMap<>();
+            ref.put("type", operation.getRef().getType());
+            ref.put("id", operation.getRef().getId());
+            operationRepresentation.put("ref", ref);
+        } else if (operation.getCode() == Operation.Code.REMOVE) {
+            String resourceName = nameForResourceClass(resource.getClass());
+            if (resourceName == null) return null;
+
+            HashMap<String, Object> ref = new HashMap<>();
+            ref.put("type", resourceName);
+            putId(ref, resource);
+            operationRepresentation.put("ref", ref);
+        } else {
+            HashMap<String, Object> data = operation.getCode() == Operation.Code.ADD
+                ? createData(resource, true) : createPatchData(resource);
+            if (data == null) return null;
+            operationRepresentation.put("data", data);
+        }
+
+        return operationRepresentation;
+    }
+
+    /**
+     * Creates the relationships represenation from an resource.
+     * Will go through the relationships of a resource and return them as a map.
+     * The keys of the returned map will be the resource type of the relationship and the value a map
+     * of the data or a list of maps containing data of multiple relations.
+     *
+     * @param resource Resource to create relationships from.
+     * @return HashMap of related resource names with their data.
+     */
+    HashMap<String, Object> createRelationships(Resource resource) {
+        HashMap<String, Object> relations = serializer.getRelationships(resource);
+        HashMap<String, Object> relationships = new HashMap<>();
+
+        for (String relationshipName : relations.keySet()) {
+            Object relationObject = relations.get(relationshipName);
+
+            if (relationObject instanceof Resource) {
+
+                HashMap<String, Object> data = createData((Resource) relationObject, false);
+                if (data != null) {
+                    HashMap<String, Object> dataObject = new HashMap<>();
+                    dataObject.put("data", data);
+                    relationships.put(relationshipName, dataObject);
+                }
+            }
+
+            if (relationObject instanceof ArrayList) {
+
+                ArrayList dataArray = createData((List) relationObject, false);
+                if (dataArray != null) {
+                    HashMap<String, Object> dataObject = new HashMap<>();
+                    dataObject.put("data", dataArray);
+                    relationships.put(relationshipName, dataObject);
+                }
+            }
+        }
+
+        if (relationships.isEmpty()) {
+            relationships = null;
+        }
+
+        return relationships;
+    }
+
+    /**
+     * Returns a resources links as a map.
+     *
+     * @param resource Resource to get links from.
+     * @return Map of the links.
+     */
+    HashMap<String, Object> createLinks(Resource resource) {
+        HashMap<String, Object> links = null;
+
+        Links resourceLinks = resource.getLinks();
+        if (resourceLinks != null) {
+            links = new HashMap<>();
+            if (resourceLinks.getSelfLink() != null) {
+                links.put("self", resourceLinks.getSelfLink());
+            }
+            if (resourceLinks.getRelated() != null) {
+                links.put("related", resourceLinks.getRelated());
+            }
+            if (resourceLinks.getFirst() != null) {
+                links.put("first", resourceLinks.getFirst());
+            }
+            if (resourceLinks.getLast() != null) {
+                links.put("last", resourceLinks.getLast());
+            }
+            if (resourceLinks.getPrev() != null) {
+                links.put("prev", resourceLinks.getPrev());
+            }
+            if (resourceLinks.getNext() != null) {
+                links.put("next", resourceLinks.getNext());
+            }
+            if (resourceLinks.getAbout() != null) {
+                links.put("about", resourceLinks.getAbout());
+            }
+        }
+
+        return links;
+    }
+
+    /**
+     * Create the included as list of maps.
+     *
+     * @param resource Resource with relations.
+     * @return List of maps.
+     */
+    @SuppressWarnings("unchecked")
+    ArrayList<HashMap<String, Object>> createIncluded(Resource resource) {
+        HashMap<String, Object> relations = serializer.getRelationships(resource);
+        ArrayList<HashMap<String, Object>> includes = new ArrayList<>();
+
+        for (String relationshipName : relations.keySet()) {
+            Object relationObject = relations.get(relationshipName);
+            if (relationObject instanceof Resource) {
+                HashMap<String, Object> data = createData((Resource) relationObject, true);
+                if (data != null) {
+                    includes.add(data);
+                }
+            }
+
+            if (relationObject instanceof ArrayList) {
+                ArrayList dataArray = createData((List) relationObject, true);
+                if (dataArray != null) {
+                    includes.addAll(dataArray);
+                }
+            }
+        }
+
+        return includes;
+    }
+
+
+    // helper
+
+    String nameForResourceClass(Class clazz) {
+        for (String key : Deserializer.getRegisteredClasses().keySet()) {
+            if (Deserializer.getRegisteredClasses().get(key) == clazz) {
+                return key;
+            }
+        }
+        Logger.debug("Class " + clazz.getSimpleName() + " not registered.");
+        return null;
+    }
+
+    // getter
+
+    public Deserializer getDeserializer() {
+        return deserializer;
+    }
+
+    AttributeMapper getAttributeMapper() {
+        return attributeMapper;
+    }
+
+    Serializer getSerializer() {
+        return serializer;
+    }
+}
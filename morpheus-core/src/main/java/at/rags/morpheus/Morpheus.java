@@ -0,0 +1,592 @@
+package at.rags.morpheus;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import at.rags.morpheus.exceptions.NotExtendingResourceException;
+import at.rags.morpheus.exceptions.ResourceCreationException;
+
+/**
+ * Morpheus is a library to map JSON with the json:api specification format.
+ * (http://jsonapi.org/).
+ *
+ * Feel free to contribute on github. (//TODO insert new link here)
+ *
+ * Example
+ * <pre>
+ * {@code
+ *  Morpheus morpheus = new Morpheus();
+ *  JsonApiObject jsonapiObject = morpheus.parse(YOUR-JSON-STRING);
+ * }
+ * </pre>
+ */
+public class Morpheus {
+  private static final Set<String> ERROR_MEMBERS = Collections.singleton("errors");
+
+  private Mapper mapper;
+  private DocumentWriter documentWriter;
+  private boolean trackChanges;
+  private EventListener eventListener = EventListener.NONE;
+  private ParseLimits parseLimits;
+  private StringPool stringPool;
+  private ResourcePool resourcePool;
+
+  public Morpheus() {
+    mapper = new Mapper();
+    documentWriter = new DocumentWriter(mapper);
+  }
+
+  public Morpheus(AttributeMapper attributeMapper) {
+    mapper = new Mapper(new Deserializer(), new Serializer(), attributeMapper);
+    documentWriter = new DocumentWriter(mapper);
+    Factory.setMapper(mapper);
+  }
+
+  /**
+   * Record the state of all parsed resources (data and included), so they can be sent with
+   * {@link #createPatchJson(JsonApiObject)} later on. Disabled by default.
+   *
+   * @param trackChanges true to track changes of parsed resources.
+   */
+  public void setTrackChanges(boolean trackChanges) {
+    this.trackChanges = trackChanges;
+  }
+
+  /**
+   * Listener notified about the start, the phases and the end of every parse and serialization.
+   *
+   * @param eventListener Listener or null to remove the listener.
+   * @see EventListener
+   */
+  public void setEventListener(EventListener eventListener) {
+    this.eventListener = eventListener == null ? EventListener.NONE : eventListener;
+  }
+
+  /**
+   * Limits for documents parsed with {@link #parse(String)}, e.g. for untrusted or oversized
+   * responses. No limits by default.
+   *
+   * @param parseLimits Limits or null to remove all limits.
+   * @see ParseLimits
+   */
+  public void setParseLimits(ParseLimits parseLimits) {
+    this.parseLimits = parseLimits;
+  }
+
+  public ParseLimits getParseLimits() {
+    return parseLimits;
+  }
+
+  /**
+   * Deduplicate type names, relationship ids and the values of the pool's attributes while
+   * parsing. Disabled by default.
+   *
+   * @param stringPool Pool (can be shared between Morpheus instances) or null to disable.
+   * @see StringPool
+   */
+  public void setStringPool(StringPool stringPool) {
+    this.stringPool = stringPool;
+  }
+
+  public StringPool getStringPool() {
+    return stringPool;
+  }
+
+  /**
+   * Parse data and included resources into the instances of the pool instead of creating new
+   * ones. Disabled by default.
+   *
+   * @param resourcePool Pool (used by this instance only) or null to disable.
+   * @see ResourcePool
+   */
+  public void setResourcePool(ResourcePool resourcePool) {
+    this.resourcePool = resourcePool;
+  }
+
+  public ResourcePool getResourcePool() {
+    return resourcePool;
+  }
+
+  /**
+   * Keep the serialized json of every resource and reuse it in {@link #createJson(JsonApiObject, Boolean)}
+   * until the resource changes. Useful when the same resources get serialized over and over
+   * (e.g. retries). Disabled by default.
+   *
+   * @param enabled true to cache the serialized resources.
+   * @see Resource#markModified()
+   */
+  public void setSerializationCacheEnabled(boolean enabled) {
+    documentWriter.setCacheEnabled(enabled);
+  }
+
+  /**
+   * Serialize large resource lists in {@link #createJson(JsonApiObject, Boolean)} in parallel.
+   * The resources are split into chunks serialized on the given pool, the resulting document
+   * keeps the order of the resources. Resources must not be modified while serializing, with the
+   * cache enabled resources shared between chunks may be serialized more than once.
+   * Requires API level 21 on Android.
+   *
+   * @param pool Pool to serialize on or null to serialize on the calling thread (default).
+   */
+  public void setSerializationPool(ForkJoinPool pool) {
+    documentWriter.setPool(pool);
+  }
+
+  /**
+   * Will return you an {@link JsonApiObject} with parsed objects, links, relations and includes.
+   *
+   * @param jsonString Your json:api formated string.
+   * @return A {@link JsonApiObject}.
+   * @throws JSONException or NotExtendingResourceException
+   */
+  public JsonApiObject parse(String jsonString) throws JSONException, NotExtendingResourceException{
+    return parse(jsonString, null);
+  }
+
+  /**
+   * Parses the document with options, e.g. only the identifiers of relationships.
+   *
+   * @param jsonString Your json:api formated string.
+   * @param options    Options for this document or null for the defaults.
+   * @return A {@link JsonApiObject}.
+   * @throws JSONException or NotExtendingResourceException
+   * @see ParseOptions
+   */
+  public JsonApiObject parse(String jsonString, ParseOptions options)
+      throws JSONException, NotExtendingResourceException {
+    return parseDocument(jsonString, new ParseContext(eventListener, stringPool, options));
+  }
+
+  /**
+   * Parses several documents, e.g. the pages of a sync log. The documents share the read buffer
+   * and the string pool (a pool of this call if none is set with {@link #setStringPool(StringPool)}),
+   * resources with the same type and id are merged with {@link ParseOptions#setMergeResources(boolean)}.
+   * The readers are read to the end, but not closed.
+   *
+   * @param documents Readers of json:api documents.
+   * @param options   Options for all documents or null for the defaults.
+   * @return A {@link JsonApiObject} per document.
+   * @throws IOException   when a reader fails.
+   * @throws JSONException or NotExtendingResourceException
+   */
+  public List<JsonApiObject> parseAll(Iterable<? extends Reader> documents, ParseOptions options)
+      throws IOException, JSONException, NotExtendingResourceException {
+    ParseBatch batch = newBatch(options);
+    List<JsonApiObject> jsonApiObjects = new ArrayList<>();
+    for (Reader document : documents) {
+      jsonApiObjects.add(parseDocument(batch.read(document), options, batch));
+    }
+    return jsonApiObjects;
+  }
+
+  /**
+   * @see #parseAll(Iterable, ParseOptions)
+   */
+  public List<JsonApiObject> parseAll(Iterable<? extends Reader> documents)
+      throws IOException, JSONException, NotExtendingResourceException {
+    return parseAll(documents, null);
+  }
+
+  /**
+   * Parses json lines (NDJSON), one document per line, e.g. a replayed event stream. Blank lines
+   * are skipped. The documents share state like in {@link #parseAll(Iterable, ParseOptions)}.
+   * The reader is read to the end, but not closed.
+   *
+   * @param lines   Reader of json:api documents separated by line breaks.
+   * @param options Options for all documents or null for the defaults.
+   * @return A {@link JsonApiObject} per line.
+   * @throws IOException   when the reader fails.
+   * @throws JSONException or NotExtendingResourceException
+   */
+  public List<JsonApiObject> parseLines(Reader lines, ParseOptions options)
+      throws IOException, JSONException, NotExtendingResourceException {
+    ParseBatch batch = newBatch(options);
+    BufferedReader reader = lines instanceof BufferedReader ? (BufferedReader) lines : new BufferedReader(lines);
+    List<JsonApiObject> jsonApiObjects = new ArrayList<>();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (!line.trim().isEmpty()) {
+        jsonApiObjects.add(parseDocument(line, options, batch));
+      }
+    }
+    return jsonApiObjects;
+  }
+
+  /**
+   * @see #parseLines(Reader, ParseOptions)
+   */
+  public List<JsonApiObject> parseLines(Reader lines)
+      throws IOException, JSONException, NotExtendingResourceException {
+    return parseLines(lines, null);
+  }
+
+  /**
+   * Merges the resources of a document (e.g. a PATCH response or a sparse fieldset) into existing
+   * instances with the same type and id. Only the attributes and relationships contained in the
+   * document are written, explicit nulls clear them, all other fields stay untouched.
+   * Other resources of the document are created as usual.
+   *
+   * @param jsonString Your json:api formated string.
+   * @param resources  Instances to merge into, with type and id.
+   * @return A {@link JsonApiObject} containing the merged instances.
+   * @throws JSONException or NotExtendingResourceException
+   */
+  public JsonApiObject merge(String jsonString, List<? extends Resource> resources)
+      throws JSONException, NotExtendingResourceException {
+    ParseBatch batch = new ParseBatch(stringPool, true);
+    for (Resource resource : resources) {
+      batch.add(resource);
+    }
+    return parseDocument(jsonString, null, batch);
+  }
+
+  /**
+   * @see #merge(String, List)
+   */
+  public JsonApiObject merge(String jsonString, Resource resource)
+      throws JSONException, NotExtendingResourceException {
+    return merge(jsonString, Collections.singletonList(resource));
+  }
+
+  private ParseBatch newBatch(ParseOptions options) {
+    return new ParseBatch(stringPool != null ? stringPool : new StringPool(),
+        options != null && options.isMergeResources());
+  }
+
+  private JsonApiObject parseDocument(String jsonString, ParseOptions options, ParseBatch batch)
+      throws JSONException, NotExtendingResourceException {
+    ParseContext context = new ParseContext(eventListener, batch.getStringPool(), options);
+    context.setBatch(batch);
+    return parseDocument(jsonString, context);
+  }
+
+  private JsonApiObject parseDocument(String jsonString, ParseContext context)
+      throws JSONException, NotExtendingResourceException {
+    context.setResourcePool(resourcePool);
+    context.parseStart(jsonString == null ? 0 : jsonString.length());
+    try {
+      context.phaseStart(ParsePhase.TOKENIZE);
+      JSONObject jsonObject;
+      if (parseLimits != null || context.getOptions().skipsMembers()) {
+        ParseLimits limits = parseLimits != null ? parseLimits : new ParseLimits();
+        DocumentReader documentReader = new DocumentReader(limits, context.getOptions());
+        jsonObject = documentReader.read(jsonString);
+        context.resourcesSkipped(documentReader.getSkippedResourceCount(), documentReader.getSkippedBytes());
+      } else {
+        jsonObject = new JSONObject(jsonString);
+      }
+      context.phaseEnd(ParsePhase.TOKENIZE);
+
+      JsonApiObject jsonApiObject = parseFromJSONObject(jsonObject, context);
+      context.parseEnd();
+      return jsonApiObject;
+    } catch (JSONException e) {
+      // checked on Android
+      context.parseFailed(e);
+      throw e;
+    } catch (NotExtendingResourceException e) {
+      context.parseFailed(e);
+      throw e;
+    } catch (RuntimeException e) {
+      context.parseFailed(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Parse and map all the top level members.
+   */
+  private JsonApiObject parseFromJSONObject(JSONObject jsonObject, ParseContext context)
+      throws ResourceCreationException, NotExtendingResourceException {
+    JSONArray errorArray = jsonObject.optJSONArray("errors");
+    if (errorArray != null && !jsonObject.has("data")) {
+      return parseErrorDocument(jsonObject, errorArray, context);
+    }
+
+    JsonApiObject jsonApiObject = new JsonApiObject();
+
+    int includedHops = parseLimits != null ? parseLimits.getMaxIncludedHops() : ParseLimits.UNLIMITED;
+
+    //included, relationships between included resources are resolved after all of them are created
+    context.phaseStart(ParsePhase.INCLUDED);
+    ReferenceResolver referenceResolver = includedHops >= 2 ? new ReferenceResolver() : null;
+    context.setReferenceResolver(referenceResolver);
+    JSONArray includedArray = context.getOptions().parsesIncluded() ? jsonObject.optJSONArray("included") : null;
+    if (includedArray != null) {
+      jsonApiObject.setIncluded(Factory.newObjectFromJSONArray(includedArray, null, context));
+    } else {
+      Logger.debug("JSON does not contain included");
+    }
+    context.setReferenceResolver(null);
+    context.phaseEnd(ParsePhase.INCLUDED);
+
+    List<Resource> matchedIncluded = includedHops >= 1 ? jsonApiObject.getIncluded() : null;
+
+    context.phaseStart(ParsePhase.INCLUDED_RELATIONSHIPS);
+    if (jsonApiObject.getIncluded() != null && referenceResolver != null) {
+      referenceResolver.resolve(jsonApiObject.getIncluded(), context);
+    }
+    context.phaseEnd(ParsePhase.INCLUDED_RELATIONSHIPS);
+
+    context.phaseStart(ParsePhase.DATA);
+    //data array
+    JSONArray dataArray = null;
+    try {
+      dataArray = jsonObject.getJSONArray("data");
+      jsonApiObject.setResources(Factory.newObjectFromJSONArray(dataArray, matchedIncluded, context));
+    } catch (JSONException e) {
+      Logger.debug("JSON does not contain data array");
+    }
+
+    //data object
+    JSONObject dataObject = null;
+    try {
+      dataObject = jsonObject.getJSONObject("data");
+      jsonApiObject.setResource(Factory.newObjectFromJSONObject(dataObject, matchedIncluded, context));
+    } catch (JSONException e) {
+      Logger.debug("JSON does not contain data object");
+    }
+
+    //atomic operations and their results
+    JSONArray operationArray = jsonObject.optJSONArray("atomic:operations");
+    if (operationArray != null) {
+      jsonApiObject.setOperations(parseOperations(operationArray, matchedIncluded, context));
+    }
+    JSONArray resultArray = jsonObject.optJSONArray("atomic:results");
+    if (resultArray != null) {
+      jsonApiObject.setResults(parseResults(resultArray, matchedIncluded, context));
+    }
+    context.phaseEnd(ParsePhase.DATA);
+
+    //link object
+    context.phaseStart(ParsePhase.LINKS);
+    JSONObject linkObject = null;
+    try {
+      linkObject = jsonObject.getJSONObject("links");
+      jsonApiObject.setLinks(mapper.mapLinks(linkObject));
+    } catch (JSONException e) {
+      Logger.debug("JSON does not contain links object");
+    }
+    context.phaseEnd(ParsePhase.LINKS);
+
+    //meta object
+    context.phaseStart(ParsePhase.META);
+    JSONObject metaObject = null;
+    try {
+      metaObject = jsonObject.getJSONObject("meta");
+      jsonApiObject.setMeta(metaObject);
+    } catch (JSONException e) {
+      Logger.debug("JSON does not contain meta object");
+    }
+    context.phaseEnd(ParsePhase.META);
+
+    context.phaseStart(ParsePhase.ERRORS);
+    if (errorArray != null) {
+      jsonApiObject.setErrors(mapper.mapErrors(errorArray));
+    } else {
+      Logger.debug("JSON does not contain errors object");
+    }
+    context.phaseEnd(ParsePhase.ERRORS);
+
+    if (trackChanges) {
+      startTrackingChanges(jsonApiObject);
+    }
+
+    return jsonApiObject;
+  }
+
+  private List<Operation> parseOperations(JSONArray operationArray, List<Resource> included, ParseContext context)
+      throws ResourceCreationException, NotExtendingResourceException {
+    List<Operation> operations = new ArrayList<>(operationArray.length());
+    for (int i = 0; i < operationArray.length(); i++) {
+      JSONObject operationObject = operationArray.optJSONObject(i);
+      Operation.Code code = operationObject == null ? null : Operation.Code.forName(operationObject.optString("op"));
+      if (code == null) {
+        Logger.debug("Skipping atomic operation without valid op");
+        continue;
+      }
+
+      JSONObject dataObject = operationObject.optJSONObject("data");
+      Resource resource = dataObject == null ? null : Factory.newObjectFromJSONObject(dataObject, included, context);
+      JSONObject refObject = operationObject.optJSONObject("ref");
+      ResourceIdentifier ref = null;
+      if (refObject != null) {
+        Object id = refObject.opt("id");
+        ref = new ResourceIdentifier(refObject.optString("type"), id == null ? null : String.valueOf(id));
+      }
+      operations.add(new Operation(code, resource, ref));
+    }
+    return operations;
+  }
+
+  private List<JsonApiObject> parseResults(JSONArray resultArray, List<Resource> included, ParseContext context)
+      throws ResourceCreationException, NotExtendingResourceException {
+    List<JsonApiObject> results = new ArrayList<>(resultArray.length());
+    for (int i = 0; i < resultArray.length(); i++) {
+      JsonApiObject result = new JsonApiObject();
+      JSONObject resultObject = resultArray.optJSONObject(i);
+      if (resultObject != null) {
+        JSONObject dataObject = resultObject.optJSONObject("data");
+        if (dataObject != null) {
+          result.setResource(Factory.newObjectFromJSONObject(dataObject, included, context));
+        }
+        result.setMeta(resultObject.optJSONObject("meta"));
+      }
+      results.add(result);
+    }
+    return results;
+  }
+
+  /**
+   * Maps an error document. Only links, meta and errors are looked at, a document containing
+   * errors must not contain data.
+   */
+  private JsonApiObject parseErrorDocument(JSONObject jsonObject, JSONArray errorArray, ParseContext context) {
+    JsonApiObject jsonApiObject = new JsonApiObject();
+
+    context.phaseStart(ParsePhase.LINKS);
+    JSONObject linkObject = jsonObject.optJSONObject("links");
+    if (linkObject != null) {
+      jsonApiObject.setLinks(mapper.mapLinks(linkObject));
+    }
+    context.phaseEnd(ParsePhase.LINKS);
+
+    context.phaseStart(ParsePhase.META);
+    jsonApiObject.setMeta(jsonObject.optJSONObject("meta"));
+    context.phaseEnd(ParsePhase.META);
+
+    context.phaseStart(ParsePhase.ERRORS);
+    jsonApiObject.setErrors(mapper.mapErrors(errorArray));
+    context.phaseEnd(ParsePhase.ERRORS);
+
+    return jsonApiObject;
+  }
+
+  /**
+   * Parses only the errors of a json:api document, e.g. the error body of a failed request.
+   * All other members (e.g. data and included) are skipped while tokenizing.
+   *
+   * @param jsonString Your json:api formated string.
+   * @return Errors of the document, empty when it does not contain errors.
+   * @throws JSONException when the json is not valid or exceeds the parse limits.
+   */
+  public List<Error> parseErrors(String jsonString) throws JSONException {
+    DocumentReader documentReader = new DocumentReader(parseLimits != null ? parseLimits : new ParseLimits());
+    JSONArray errorArray = documentReader.read(jsonString, ERROR_MEMBERS).optJSONArray("errors");
+    if (errorArray == null) {
+      return new ArrayList<>();
+    }
+    return mapper.mapErrors(errorArray);
+  }
+
+  /**
+   * Get the serialized json from a JsonApiObject.
+   * Will parse resource(s) and relationships. If addIncluded is set to true, it will also
+   * add the relationships as included.
+   *
+   * @param jsonApiObject JsonApiObject to serialize.
+   * @param addIncluded Add includes for relationships.
+   * @return Json as String.
+   */
+  public String createJson(JsonApiObject jsonApiObject, Boolean addIncluded) {
+    if (eventListener == EventListener.NONE) {
+      return documentWriter.write(jsonApiObject, addIncluded);
+    }
+
+    eventListener.serializeStart();
+    String json = documentWriter.write(jsonApiObject, addIncluded);
+    int resourceCount = jsonApiObject.getResources() != null ? jsonApiObject.getResources().size()
+        : jsonApiObject.getResource() != null ? 1 : 0;
+    eventListener.serializeEnd(resourceCount, json.length());
+    return json;
+  }
+
+  /**
+   * Get the serialized json of an atomic operations request ("atomic:operations"), e.g. to send
+   * the changes of a sync in one request. Operations of resources that are not registered are
+   * left out. Parse the response with {@link #parse(String)}, its results are in
+   * {@link JsonApiObject#getResults()}.
+   *
+   * @param operations Operations in the order the server should apply them.
+   * @return Json as String.
+   */
+  public String createOperationsJson(List<Operation> operations) {
+    ArrayList<HashMap<String, Object>> operationList = new ArrayList<>(operations.size());
+    for (Operation operation : operations) {
+      HashMap<String, Object> operationData = mapper.createOperation(operation);
+      if (operationData != null) {
+        operationList.add(operationData);
+      }
+    }
+
+    HashMap<String, Object> jsonMap = new HashMap<>();
+    jsonMap.put("atomic:operations", operationList);
+
+    Gson gson = new GsonBuilder().serializeNulls().create();
+    return gson.toJson(jsonMap);
+  }
+
+  /**
+   * Get the serialized json for a PATCH request from a JsonApiObject.
+   * Resources tracking their changes (see {@link Resource#startTrackingChanges()}) will only
+   * contain the attributes and relationships changed since, others are serialized completely.
+   * Included are never added.
+   *
+   * @param jsonApiObject JsonApiObject to serialize.
+   * @return Json as String.
+   */
+  public String createPatchJson(JsonApiObject jsonApiObject) {
+    HashMap<String, Object> jsonMap = new HashMap<>();
+
+    if (jsonApiObject.getResource() != null) {
+      HashMap<String, Object> data = mapper.createPatchData(jsonApiObject.getResource());
+      if (data != null) {
+        jsonMap.put("data", data);
+      }
+    }
+
+    if (jsonApiObject.getResources() != null) {
+      ArrayList<HashMap<String, Object>> data = new ArrayList<>();
+      for (Resource resource : jsonApiObject.getResources()) {
+        HashMap<String, Object> resourceData = mapper.createPatchData(resource);
+        if (resourceData != null) {
+          data.add(resourceData);
+        }
+      }
+      jsonMap.put("data", data);
+    }
+
+    Gson gson = new GsonBuilder().serializeNulls().create();
+    return gson.toJson(jsonMap);
+  }
+
+  private void startTrackingChanges(JsonApiObject jsonApiObject) {
+    if (jsonApiObject.getResource() != null) {
+      jsonApiObject.getResource().startTrackingChanges();
+    }
+    if (jsonApiObject.getResources() != null) {
+      for (Resource resource : jsonApiObject.getResources()) {
+        resource.startTrackingChanges();
+      }
+    }
+    if (jsonApiObject.getIncluded() != null) {
+      for (Resource resource : jsonApiObject.getIncluded()) {
+        resource.startTrackingChanges();
+      }
+    }
+  }
+}
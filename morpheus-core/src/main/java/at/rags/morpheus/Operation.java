@@ -0,0 +1,103 @@
+package at.rags.morpheus;
+
+/**
+ * Operation of a json:api atomic operations document ("atomic:operations"), sent with
+ * {@link Morpheus#createOperationsJson(java.util.List)}.
+ * <p>
+ * Resources created in the same request can be referenced before they have an id by setting a
+ * local id with {@link Resource#setLocalId(String)}.
+ * <pre>
+ * {@code
+ * Comment comment = new Comment();
+ * comment.setLocalId("c1");
+ * article.setComments(Arrays.asList(comment));
+ * morpheus.createOperationsJson(Arrays.asList(Operation.add(comment), Operation.update(article)));
+ * }
+ * </pre>
+ */
+public class Operation {
+
+    public enum Code {
+        ADD("add"), UPDATE("update"), REMOVE("remove");
+
+        private final String name;
+
+        Code(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @param name Value of the "op" member.
+         * @return Code or null if unknown.
+         */
+        static Code forName(String name) {
+            for (Code code : values()) {
+                if (code.name.equals(name)) {
+                    return code;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Code code;
+    private final Resource resource;
+    private final ResourceIdentifier ref;
+
+    Operation(Code code, Resource resource, ResourceIdentifier ref) {
+        this.code = code;
+        this.resource = resource;
+        this.ref = ref;
+    }
+
+    /**
+     * @param resource Resource to create, with attributes and relationships.
+     */
+    public static Operation add(Resource resource) {
+        return new Operation(Code.ADD, resource, null);
+    }
+
+    /**
+     * @param resource Resource to update, only with the changed members if it tracks its changes
+     *                 (see {@link Resource#startTrackingChanges()}).
+     */
+    public static Operation update(Resource resource) {
+        return new Operation(Code.UPDATE, resource, null);
+    }
+
+    /**
+     * @param resource Resource to remove, only its type and id (or local id) are sent.
+     */
+    public static Operation remove(Resource resource) {
+        return new Operation(Code.REMOVE, resource, null);
+    }
+
+    /**
+     * @param ref Type and id of the resource to remove.
+     */
+    public static Operation remove(ResourceIdentifier ref) {
+        return new Operation(Code.REMOVE, null, ref);
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    /**
+     * @return Resource of the operation ("data") or null.
+     */
+    public Resource getResource() {
+        return resource;
+    }
+
+    /**
+     * @return Target of the operation ("ref") or null if it targets its resource.
+     */
+    public ResourceIdentifier getRef() {
+        return ref;
+    }
+}
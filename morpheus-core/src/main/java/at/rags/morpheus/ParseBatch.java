@@ -0,0 +1,74 @@
+package at.rags.morpheus;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+
+/**
+ * State shared by the documents of {@link Morpheus#parseAll(Iterable, ParseOptions)}: the read
+ * buffer, the string pool and, when merging resources, the resources by type and id (also the
+ * targets of {@link Morpheus#merge(String, java.util.List)}).
+ */
+final class ParseBatch {
+
+    private final StringPool strings;
+    private final HashMap<String, HashMap<String, Resource>> resources;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder builder = new StringBuilder();
+
+    ParseBatch(StringPool strings, boolean mergeResources) {
+        this.strings = strings;
+        this.resources = mergeResources ? new HashMap<String, HashMap<String, Resource>>() : null;
+    }
+
+    /**
+     * @return True if resources are merged, explicit nulls clear their fields then.
+     */
+    boolean mergesResources() {
+        return resources != null;
+    }
+
+    StringPool getStringPool() {
+        return strings;
+    }
+
+    /**
+     * Reads the document to the end, the reader is not closed.
+     */
+    String read(Reader reader) throws IOException {
+        builder.setLength(0);
+        int count;
+        while ((count = reader.read(buffer)) != -1) {
+            builder.append(buffer, 0, count);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param type json:api type.
+     * @param id   Id from the json (String or number) or null.
+     * @return The resource of an earlier document or null.
+     */
+    Resource get(String type, Object id) {
+        if (resources == null || id == null) {
+            return null;
+        }
+        HashMap<String, Resource> ofType = resources.get(type);
+        return ofType == null ? null : ofType.get(id instanceof String ? (String) id : String.valueOf(id));
+    }
+
+    /**
+     * Remembers the resource for the following documents, if resources are merged.
+     */
+    void add(Resource resource) {
+        if (resources == null || resource.getType() == null || resource.getId() == null) {
+            return;
+        }
+        HashMap<String, Resource> ofType = resources.get(resource.getType());
+        if (ofType == null) {
+            ofType = new HashMap<>();
+            resources.put(resource.getType(), ofType);
+        }
+        ofType.put(resource.getId(), resource);
+    }
+}
@@ -0,0 +1,263 @@
+package at.rags.morpheus;
+
+import java.util.List;
+
+/**
+ * State of one parse, passed through {@link Factory} and {@link Mapper}.
+ * <p>
+ * Counts and timings are only recorded with a listener other than {@link EventListener#NONE}.
+ */
+final class ParseContext {
+
+    /**
+     * Context for calls outside of {@link Morpheus#parse(String)}, records nothing.
+     */
+    static final ParseContext NONE = new ParseContext(EventListener.NONE);
+
+    private final EventListener listener;
+    private final boolean recording;
+    private final StringPool strings;
+    private final boolean internIds;
+    private final ParseOptions options;
+    private final long[] phaseNanos = new long[ParsePhase.values().length];
+    private int inputLength;
+    private long startNanos;
+    private long phaseStartNanos;
+    private int resourceCount;
+    private int relationshipCount;
+    private int attributeCount;
+    private int skippedResourceCount;
+    private int skippedBytes;
+    private int matchRelationCount;
+    private int matchMatchedCount;
+    private List<Resource> indexedIncluded;
+    private ResourceIndex includedIndex;
+    private ParseContext relationContext;
+    private ReferenceResolver referenceResolver;
+    private ParseBatch batch;
+    private ResourcePool resourcePool;
+
+    ParseContext(EventListener listener) {
+        this(listener, null, null, false);
+    }
+
+    ParseContext(EventListener listener, StringPool strings) {
+        this(listener, strings, null, false);
+    }
+
+    ParseContext(EventListener listener, StringPool strings, ParseOptions options) {
+        this(listener, strings, options, false);
+    }
+
+    private ParseContext(EventListener listener, StringPool strings, ParseOptions options, boolean internIds) {
+        this.listener = listener == null ? EventListener.NONE : listener;
+        this.recording = this.listener != EventListener.NONE;
+        this.strings = strings;
+        this.options = options == null ? new ParseOptions() : options;
+        this.internIds = internIds;
+    }
+
+    ParseOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * @return Pool to deduplicate strings or null.
+     */
+    StringPool getStringPool() {
+        return strings;
+    }
+
+    /**
+     * @return The registered type name equal to type when deduplicating, otherwise type.
+     */
+    String typeName(String type) {
+        return strings == null ? type : Deserializer.getRegisteredTypeName(type);
+    }
+
+    /**
+     * @return The pooled id of a relationship, otherwise id.
+     */
+    Object id(Object id) {
+        if (!internIds) {
+            return id;
+        }
+        return strings.intern(id instanceof String ? (String) id : String.valueOf(id));
+    }
+
+    /**
+     * Context for the resource identifiers of relationships. It records nothing, like
+     * {@link #NONE}, but shares the string pool and pools the ids.
+     */
+    ParseContext relationContext() {
+        if (strings == null) {
+            return NONE;
+        }
+        if (relationContext == null) {
+            relationContext = new ParseContext(EventListener.NONE, strings, options, true);
+        }
+        return relationContext;
+    }
+
+
+    boolean isRecording() {
+        return recording;
+    }
+
+    void parseStart(int inputLength) {
+        if (recording) {
+            this.inputLength = inputLength;
+            startNanos = System.nanoTime();
+            listener.parseStart();
+        }
+    }
+
+    void phaseStart(ParsePhase phase) {
+        if (recording) {
+            listener.phaseStart(phase);
+            phaseStartNanos = System.nanoTime();
+        }
+    }
+
+    void phaseEnd(ParsePhase phase) {
+        if (recording) {
+            long duration = System.nanoTime() - phaseStartNanos;
+            phaseNanos[phase.ordinal()] += duration;
+            listener.phaseEnd(phase, duration);
+        }
+    }
+
+    void parseEnd() {
+        if (recording) {
+            listener.parseEnd(metrics());
+        }
+    }
+
+    void parseFailed(Exception exception) {
+        if (recording) {
+            listener.parseFailed(metrics(), exception);
+        }
+    }
+
+    void resourceStart(String type) {
+        if (recording) {
+            listener.resourceStart(type);
+        }
+    }
+
+    void resourceEnd(String type) {
+        if (recording) {
+            listener.resourceEnd(type);
+        }
+    }
+
+    void includedMatchStart(Resource resource) {
+        if (recording) {
+            matchRelationCount = 0;
+            matchMatchedCount = 0;
+            listener.includedMatchStart(resource.getType());
+        }
+    }
+
+    void relationMatched(boolean found) {
+        if (recording) {
+            matchRelationCount++;
+            if (found) {
+                matchMatchedCount++;
+            }
+        }
+    }
+
+    void includedMatchEnd(Resource resource, List<Resource> included) {
+        if (recording) {
+            listener.includedMatchEnd(resource.getType(), matchRelationCount, matchMatchedCount, included.size());
+        }
+    }
+
+    /**
+     * @return State shared with the other documents of a batch or null.
+     */
+    ParseBatch getBatch() {
+        return batch;
+    }
+
+    void setBatch(ParseBatch batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * @return True if resources are merged into existing instances, so explicit nulls have to
+     * clear attributes and relationships.
+     */
+    boolean mergesResources() {
+        return batch != null && batch.mergesResources();
+    }
+
+    /**
+     * @return Instances to parse into or null.
+     */
+    ResourcePool getResourcePool() {
+        return resourcePool;
+    }
+
+    void setResourcePool(ResourcePool resourcePool) {
+        this.resourcePool = resourcePool;
+    }
+
+    /**
+     * @return Resolver recording the relationships of the resources created now, or null to
+     * match them right away.
+     */
+    ReferenceResolver getReferenceResolver() {
+        return referenceResolver;
+    }
+
+    void setReferenceResolver(ReferenceResolver referenceResolver) {
+        this.referenceResolver = referenceResolver;
+    }
+
+    /**
+     * Returns the index of the included resources, built on first use.
+     * Returns null for {@link #NONE}, which is shared and keeps no state.
+     */
+    ResourceIndex includedIndex(List<Resource> included) {
+        if (this == NONE) {
+            return null;
+        }
+        if (indexedIncluded != included) {
+            includedIndex = new ResourceIndex(included);
+            indexedIncluded = included;
+        }
+        return includedIndex;
+    }
+
+    void resourceCreated() {
+        if (recording) {
+            resourceCount++;
+        }
+    }
+
+    void relationshipBound() {
+        if (recording) {
+            relationshipCount++;
+        }
+    }
+
+    void resourcesSkipped(int count, int bytes) {
+        if (recording) {
+            skippedResourceCount += count;
+            skippedBytes += bytes;
+        }
+    }
+
+    void attributeBound() {
+        if (recording) {
+            attributeCount++;
+        }
+    }
+
+    private ParseMetrics metrics() {
+        return new ParseMetrics(inputLength, System.nanoTime() - startNanos, phaseNanos.clone(),
+            resourceCount, relationshipCount, attributeCount, skippedResourceCount, skippedBytes);
+    }
+}
@@ -0,0 +1,117 @@
+package at.rags.morpheus;
+
+/**
+ * Limits for parsing untrusted or oversized documents with {@link Morpheus#setParseLimits(ParseLimits)}.
+ * <p>
+ * The limits are checked while the json gets tokenized, so nothing is allocated for members
+ * beyond a limit. With {@link Policy#FAIL} a {@link ParseLimitExceededException} is thrown, with
+ * {@link Policy#TRUNCATE} the members beyond the limit are skipped. The document size can not be
+ * truncated and always fails.
+ * <p>
+ * All limits are unlimited by default.
+ */
+public class ParseLimits {
+
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * What to do when a limit is exceeded.
+     */
+    public enum Policy {
+        /** Throw a {@link ParseLimitExceededException}. */
+        FAIL,
+        /** Skip the members beyond the limit. */
+        TRUNCATE
+    }
+
+    private Policy policy = Policy.FAIL;
+    private int maxDocumentLength = UNLIMITED;
+    private int maxDepth = UNLIMITED;
+    private int maxDataResources = UNLIMITED;
+    private int maxIncludedResources = UNLIMITED;
+    private int maxAttributesPerResource = UNLIMITED;
+    private int maxIncludedHops = UNLIMITED;
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(Policy policy) {
+        this.policy = policy;
+    }
+
+    public int getMaxDocumentLength() {
+        return maxDocumentLength;
+    }
+
+    /**
+     * The length is measured in bytes of the UTF-8 encoded document, so a string passed to
+     * {@link Morpheus#parse(String)} and the same response body have the same length. The retrofit
+     * converter fails response bodies with a larger content length without reading them.
+     *
+     * @param maxDocumentLength Maximum length of the document in UTF-8 bytes.
+     */
+    public void setMaxDocumentLength(int maxDocumentLength) {
+        this.maxDocumentLength = maxDocumentLength;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @param maxDepth Maximum nesting of objects and arrays, the top level object has depth 1.
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxDataResources() {
+        return maxDataResources;
+    }
+
+    /**
+     * @param maxDataResources Maximum number of resources in the data array.
+     */
+    public void setMaxDataResources(int maxDataResources) {
+        this.maxDataResources = maxDataResources;
+    }
+
+    public int getMaxIncludedResources() {
+        return maxIncludedResources;
+    }
+
+    /**
+     * @param maxIncludedResources Maximum number of resources in included.
+     */
+    public void setMaxIncludedResources(int maxIncludedResources) {
+        this.maxIncludedResources = maxIncludedResources;
+    }
+
+    public int getMaxAttributesPerResource() {
+        return maxAttributesPerResource;
+    }
+
+    /**
+     * @param maxAttributesPerResource Maximum number of members in the attributes of a resource
+     *                                 of data or included.
+     */
+    public void setMaxAttributesPerResource(int maxAttributesPerResource) {
+        this.maxAttributesPerResource = maxAttributesPerResource;
+    }
+
+    public int getMaxIncludedHops() {
+        return maxIncludedHops;
+    }
+
+    /**
+     * Limits how far relationships are resolved from included. 0 leaves all relationships as
+     * resource identifiers, 1 resolves the relationships of data, 2 or more also resolves the
+     * relationships between included resources. Not affected by the policy.
+     *
+     * @param maxIncludedHops Number of relationship hops.
+     */
+    public void setMaxIncludedHops(int maxIncludedHops) {
+        this.maxIncludedHops = maxIncludedHops;
+    }
+}
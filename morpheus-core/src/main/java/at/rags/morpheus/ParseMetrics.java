@@ -0,0 +1,101 @@
+package at.rags.morpheus;
+
+import java.util.Arrays;
+
+/**
+ * Timings and counts of one {@link Morpheus#parse(String)}.
+ *
+ * @see EventListener#parseEnd(ParseMetrics)
+ */
+public final class ParseMetrics {
+
+    private final int inputLength;
+    private final long totalNanos;
+    private final long[] phaseNanos;
+    private final int resourceCount;
+    private final int relationshipCount;
+    private final int attributeCount;
+    private final int skippedResourceCount;
+    private final int skippedBytes;
+
+    ParseMetrics(int inputLength, long totalNanos, long[] phaseNanos, int resourceCount, int relationshipCount,
+                 int attributeCount, int skippedResourceCount, int skippedBytes) {
+        this.inputLength = inputLength;
+        this.totalNanos = totalNanos;
+        this.phaseNanos = phaseNanos;
+        this.resourceCount = resourceCount;
+        this.relationshipCount = relationshipCount;
+        this.attributeCount = attributeCount;
+        this.skippedResourceCount = skippedResourceCount;
+        this.skippedBytes = skippedBytes;
+    }
+
+    /**
+     * @return Length of the parsed json string.
+     */
+    public int getInputLength() {
+        return inputLength;
+    }
+
+    /**
+     * @return Duration of the whole parse in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @param phase Phase of the parse.
+     * @return Duration of the phase in nanoseconds, 0 if it did not run.
+     */
+    public long getPhaseNanos(ParsePhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return Number of resources created from data and included.
+     */
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    /**
+     * @return Number of relationship members bound to resources.
+     */
+    public int getRelationshipCount() {
+        return relationshipCount;
+    }
+
+    /**
+     * @return Number of attributes bound to resources.
+     */
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    /**
+     * @return Number of resources skipped by their type (see {@link ParseOptions#setSkipUnregisteredTypes(boolean)}).
+     */
+    public int getSkippedResourceCount() {
+        return skippedResourceCount;
+    }
+
+    /**
+     * @return Number of UTF-8 bytes of the skipped resources.
+     */
+    public int getSkippedBytes() {
+        return skippedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseMetrics{inputLength=" + inputLength
+            + ", totalNanos=" + totalNanos
+            + ", phaseNanos=" + Arrays.toString(phaseNanos)
+            + ", resourceCount=" + resourceCount
+            + ", relationshipCount=" + relationshipCount
+            + ", attributeCount=" + attributeCount
+            + ", skippedResourceCount=" + skippedResourceCount
+            + ", skippedBytes=" + skippedBytes + "}";
+    }
+}
@@ -0,0 +1,145 @@
+package at.rags.morpheus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options for one call of {@link Morpheus#parse(String, ParseOptions)}, e.g. to parse only what
+ * a list screen shows.
+ */
+public class ParseOptions {
+
+    private boolean identifiersOnly;
+    private boolean includeIncluded;
+    private Map<String, Set<String>> projections;
+    private boolean skipUnregisteredTypes;
+    private Set<String> ignoredTypes;
+    private boolean mergeResources;
+
+    public boolean isIdentifiersOnly() {
+        return identifiersOnly;
+    }
+
+    /**
+     * Bind relationships as {@link ResourceIdentifier} (see {@link Resource#getRelationshipIdentifier(String)})
+     * instead of creating resources for them. The relationship fields stay null and included
+     * resources are skipped unless {@link #setIncludeIncluded(boolean)} is set.
+     *
+     * @param identifiersOnly true to bind only identifiers of relationships.
+     */
+    public void setIdentifiersOnly(boolean identifiersOnly) {
+        this.identifiersOnly = identifiersOnly;
+    }
+
+    public boolean isIncludeIncluded() {
+        return includeIncluded;
+    }
+
+    /**
+     * @param includeIncluded true to parse included resources in the identifiers only mode.
+     *                        They are not matched to the relationships.
+     */
+    public void setIncludeIncluded(boolean includeIncluded) {
+        this.includeIncluded = includeIncluded;
+    }
+
+    /**
+     * Parse only some attributes and relationships of a type, the other members are skipped
+     * while tokenizing. Once a projection is set, included resources of types without a
+     * projection are skipped as well; data resources of those types are parsed completely.
+     *
+     * @param type       json:api type, e.g. "chat_sessions".
+     * @param fieldNames json names of the attributes and names of the relationships to parse.
+     */
+    public void setProjection(String type, String... fieldNames) {
+        if (projections == null) {
+            projections = new HashMap<>();
+        }
+        projections.put(type, Collections.unmodifiableSet(new HashSet<>(Arrays.asList(fieldNames))));
+    }
+
+    /**
+     * @param type json:api type.
+     * @return Names of the attributes and relationships to parse or null to parse all.
+     */
+    public Set<String> getProjection(String type) {
+        return projections == null ? null : projections.get(type);
+    }
+
+    boolean hasProjections() {
+        return projections != null;
+    }
+
+    public boolean isSkipUnregisteredTypes() {
+        return skipUnregisteredTypes;
+    }
+
+    /**
+     * Skip data and included resources of types that are not registered with
+     * {@link Deserializer#registerResourceClass(String, Class)} while tokenizing, instead of
+     * building their json and dropping them afterwards.
+     * The skipped resources and their bytes are reported in {@link ParseMetrics}.
+     *
+     * @param skipUnregisteredTypes true to skip resources of unregistered types.
+     */
+    public void setSkipUnregisteredTypes(boolean skipUnregisteredTypes) {
+        this.skipUnregisteredTypes = skipUnregisteredTypes;
+    }
+
+    public Set<String> getIgnoredTypes() {
+        return ignoredTypes == null ? Collections.<String>emptySet() : ignoredTypes;
+    }
+
+    /**
+     * Skip data and included resources of these types while tokenizing, even if they are registered.
+     *
+     * @param types json:api types.
+     */
+    public void setIgnoredTypes(String... types) {
+        ignoredTypes = types.length == 0 ? null
+            : Collections.unmodifiableSet(new HashSet<>(Arrays.asList(types)));
+    }
+
+    public boolean isMergeResources() {
+        return mergeResources;
+    }
+
+    /**
+     * Map resources with the same type and id in several documents of
+     * {@link Morpheus#parseAll(Iterable, ParseOptions)} or {@link Morpheus#parseLines(java.io.Reader, ParseOptions)}
+     * into one instance. The members of a later document overwrite the ones of earlier
+     * documents (explicit nulls clear them), members it does not contain are kept. Ignored by {@link Morpheus#parse(String, ParseOptions)}.
+     *
+     * @param mergeResources true to merge resources across documents.
+     */
+    public void setMergeResources(boolean mergeResources) {
+        this.mergeResources = mergeResources;
+    }
+
+    boolean skipsType(String type) {
+        return (ignoredTypes != null && ignoredTypes.contains(type))
+            || (skipUnregisteredTypes && !Deserializer.isRegistered(type));
+    }
+
+    /**
+     * @return True if resources can be skipped by their type.
+     */
+    boolean skipsResources() {
+        return skipUnregisteredTypes || ignoredTypes != null || hasProjections();
+    }
+
+    boolean parsesIncluded() {
+        return !identifiersOnly || includeIncluded;
+    }
+
+    /**
+     * @return True if the document has to be tokenized by {@link DocumentReader} to skip members.
+     */
+    boolean skipsMembers() {
+        return !parsesIncluded() || skipsResources();
+    }
+}
@@ -0,0 +1,23 @@
+package at.rags.morpheus;
+
+/**
+ * Phases of {@link Morpheus#parse(String)} in the order they run.
+ *
+ * @see EventListener
+ */
+public enum ParsePhase {
+    /** Tokenizing the json string into a JSONObject. */
+    TOKENIZE,
+    /** Creating the resources of included. */
+    INCLUDED,
+    /** Second pass over included to resolve relationships between included resources. */
+    INCLUDED_RELATIONSHIPS,
+    /** Creating the resource(s) of data and matching their relationships to included. */
+    DATA,
+    /** Mapping the top level links. */
+    LINKS,
+    /** Mapping the top level meta. */
+    META,
+    /** Mapping the top level errors. */
+    ERRORS
+}
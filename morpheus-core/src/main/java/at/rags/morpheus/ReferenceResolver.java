@@ -0,0 +1,97 @@
+package at.rags.morpheus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the relationships of included resources while they are created and points them to
+ * the included resources once all of them are known.
+ * <p>
+ * A relationship to a single resource is written to its field again only if it matches, a
+ * relationship to many resources is patched in its list. Every reference is looked up once in
+ * the {@link ResourceIndex}, so resolving takes O(resources + relationships) for any depth of
+ * includes and for cycles.
+ */
+final class ReferenceResolver {
+
+    private final ArrayList<Reference> references = new ArrayList<>();
+
+    /**
+     * Records a relationship to a single resource.
+     *
+     * @param owner        Resource with the relationship.
+     * @param relationship Relationship field.
+     * @param identifier   Resource identifier set to the field.
+     */
+    void add(Resource owner, ResourceFields.RelationshipField relationship, Resource identifier) {
+        references.add(new Reference(owner, relationship, null, 0, identifier));
+    }
+
+    /**
+     * Records a relationship to many resources.
+     *
+     * @param owner       Resource with the relationship.
+     * @param identifiers List of resource identifiers set to the field.
+     */
+    void add(Resource owner, List<Resource> identifiers) {
+        for (int i = 0; i < identifiers.size(); i++) {
+            references.add(new Reference(owner, null, identifiers, i, identifiers.get(i)));
+        }
+    }
+
+    /**
+     * Points all recorded relationships to the included resource with the same class and id.
+     *
+     * @param included Included resources.
+     * @param context  Context of the parse, reports the matching per resource and keeps the index
+     *                 for matching the data resources.
+     */
+    void resolve(List<Resource> included, ParseContext context) {
+        ResourceIndex index = context.includedIndex(included);
+        if (index == null) {
+            index = new ResourceIndex(included);
+        }
+        Resource owner = null;
+        for (Reference reference : references) {
+            if (reference.owner != owner) {
+                if (owner != null) {
+                    context.includedMatchEnd(owner, included);
+                }
+                owner = reference.owner;
+                context.includedMatchStart(owner);
+            }
+
+            Resource resource = index.find(reference.identifier);
+            context.relationMatched(resource != null);
+            if (resource == null) {
+                continue;
+            }
+            if (reference.list != null) {
+                reference.list.set(reference.index, resource);
+            } else {
+                reference.relationship.set(reference.owner, resource);
+            }
+        }
+        if (owner != null) {
+            context.includedMatchEnd(owner, included);
+        }
+        references.clear();
+    }
+
+    private static final class Reference {
+        final Resource owner;
+        final ResourceFields.RelationshipField relationship;
+        final List<Resource> list;
+        final int index;
+        final Resource identifier;
+
+        Reference(Resource owner, ResourceFields.RelationshipField relationship, List<Resource> list, int index,
+                  Resource identifier) {
+            this.owner = owner;
+            this.relationship = relationship;
+            this.list = list;
+            this.index = index;
+            this.identifier = identifier;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package at.rags.morpheus;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.annotations.SerializedName;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import at.rags.morpheus.annotations.JsonApiType;
+
+/**
+ * Extend this resource to your custom Object you want to map.
+ * You can set custom json object names and relationships via the provided annotations.
+ * <pre>
+ * {@code
+ * public class Article extends Resource { ... }
+ * }</pre>
+ *
+ * <p>
+ * Parsing sets all fields of a resource, its getters do not modify it. Parsed resources can be
+ * read (e.g. serialized) from several threads as long as no thread modifies them.
+ *
+ * @see com.google.gson.annotations.SerializedName
+ * @see at.rags.morpheus.annotations.Relationship
+ */
+public class Resource implements Serializable {
+
+    private String id;
+    private transient long numericId;
+    private transient boolean hasNumericId;
+    private String localId;
+    private String type;
+    private at.rags.morpheus.Links links;
+    private String meta;
+    private Map<String, String> relationshipMetas;
+    private Map<String, Object> relationshipIdentifiers;
+    private transient ChangeTracker.Snapshot snapshot;
+    private transient volatile SerializedForm serializedForm;
+    private transient int modificationCount;
+
+    public Resource() {
+        JsonApiType typeAnnotation = getClass().getAnnotation(JsonApiType.class);
+        if (typeAnnotation != null) {
+            type = typeAnnotation.value();
+        }
+    }
+
+    public JSONObject getMeta() {
+        if (meta == null) return null;
+        try {
+            return new JSONObject(meta);
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    public void setMeta(JSONObject meta) {
+        if (meta == null) return;
+        this.meta = meta.toString();
+    }
+
+    public Map<String, JSONObject> getRelationshipMetas() {
+        if (relationshipMetas == null) return null;
+        Map<String, JSONObject> metas = new HashMap<>();
+        for (Map.Entry<String, String> meta : relationshipMetas.entrySet()) {
+            if (meta.getValue() == null) continue;
+            try {
+                metas.put(meta.getKey(), new JSONObject(meta.getValue()));
+            } catch (JSONException e) {
+            }
+        }
+        return metas;
+    }
+
+    public void setRelationshipMeta(String key, JSONObject meta) {
+        if (relationshipMetas == null) {
+            relationshipMetas = new HashMap<>();
+        }
+        relationshipMetas.put(key, meta.toString());
+    }
+
+    /**
+     * Returns the identifier of a to-one relationship parsed with {@link ParseOptions#setIdentifiersOnly(boolean)}.
+     *
+     * @param relationship Name of the relationship.
+     * @return Identifier or null.
+     */
+    public ResourceIdentifier getRelationshipIdentifier(String relationship) {
+        Object identifier = relationshipIdentifiers == null ? null : relationshipIdentifiers.get(relationship);
+        return identifier instanceof ResourceIdentifier ? (ResourceIdentifier) identifier : null;
+    }
+
+    /**
+     * Returns the identifiers of a to-many relationship parsed with {@link ParseOptions#setIdentifiersOnly(boolean)}.
+     *
+     * @param relationship Name of the relationship.
+     * @return Identifiers or null.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ResourceIdentifier> getRelationshipIdentifiers(String relationship) {
+        Object identifiers = relationshipIdentifiers == null ? null : relationshipIdentifiers.get(relationship);
+        return identifiers instanceof List ? (List<ResourceIdentifier>) identifiers : null;
+    }
+
+    /**
+     * @param identifier {@link ResourceIdentifier} or {@literal List<ResourceIdentifier>}.
+     */
+    void setRelationshipIdentifier(String relationship, Object identifier) {
+        if (relationshipIdentifiers == null) {
+            relationshipIdentifiers = new HashMap<>();
+        }
+        relationshipIdentifiers.put(relationship, identifier);
+    }
+
+    public at.rags.morpheus.Links getLinks() {
+        return links;
+    }
+
+    public void setLinks(Links links) {
+        this.links = links;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+        hasNumericId = false;
+    }
+
+    public String getLocalId() {
+        return localId;
+    }
+
+    /**
+     * Local id ("lid") of a resource created in an atomic operations request, before the server
+     * assigned its id. Resources without id are serialized with their local id, also as the
+     * target of relationships (see {@link Operation}).
+     *
+     * @param localId Local id, unique within one request.
+     */
+    public void setLocalId(String localId) {
+        this.localId = localId;
+    }
+
+    /**
+     * Sets the id of a {@link at.rags.morpheus.annotations.NumericId} resource, as long for
+     * matching included resources and as String for {@link #getId()} and reflective consumers.
+     *
+     * @param id The String of numericId.
+     */
+    void setNumericId(long numericId, String id) {
+        this.id = id;
+        this.numericId = numericId;
+        this.hasNumericId = true;
+    }
+
+    /**
+     * Clears the id and all other state of the resource, except its type, before parsing into it
+     * again (see {@link ResourcePool}).
+     */
+    void reset() {
+        id = null;
+        numericId = 0;
+        hasNumericId = false;
+        localId = null;
+        links = null;
+        meta = null;
+        relationshipMetas = null;
+        relationshipIdentifiers = null;
+        snapshot = null;
+        serializedForm = null;
+        modificationCount++;
+    }
+
+    boolean hasNumericId() {
+        return hasNumericId;
+    }
+
+    long getNumericId() {
+        return numericId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Remembers the current attributes and relationships, so {@link Morpheus#createPatchJson(JsonApiObject)}
+     * only serializes what changed afterwards. Call it again after a successful update.
+     * <p>
+     * Parsed resources are tracked automatically when {@link Morpheus#setTrackChanges(boolean)} is enabled.
+     */
+    public void startTrackingChanges() {
+        ChangeTracker.snapshot(this);
+    }
+
+    public void stopTrackingChanges() {
+        snapshot = null;
+    }
+
+    public boolean isTrackingChanges() {
+        return snapshot != null;
+    }
+
+    /**
+     * Returns the json names of the attributes changed since {@link #startTrackingChanges()}.
+     *
+     * @return Changed attribute names or null if the resource is not tracked.
+     */
+    public Set<String> getChangedAttributes() {
+        return ChangeTracker.changedAttributes(this);
+    }
+
+    /**
+     * Returns the names of the relationships changed since {@link #startTrackingChanges()}.
+     *
+     * @return Changed relationship names or null if the resource is not tracked.
+     */
+    public Set<String> getChangedRelationships() {
+        return ChangeTracker.changedRelationships(this);
+    }
+
+    ChangeTracker.Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    void setSnapshot(ChangeTracker.Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Invalidates the cached json of this resource (see {@link Morpheus#setSerializationCacheEnabled(boolean)}).
+     * Changed fields are detected automatically, call this after modifying nested objects that
+     * do not implement hashCode().
+     */
+    public void markModified() {
+        modificationCount++;
+    }
+
+    int getModificationCount() {
+        return modificationCount;
+    }
+
+    SerializedForm getSerializedForm() {
+        return serializedForm;
+    }
+
+    void setSerializedForm(SerializedForm serializedForm) {
+        this.serializedForm = serializedForm;
+    }
+
+    /**
+     * Gson serializer writing the id, type and all {@link SerializedName} fields of a resource,
+     * including the ones of its superclasses.
+     * <p>
+     * The fields and how to write them are resolved once per class.
+     */
+    public static class ResourceSerializer<T> implements JsonSerializer<T> {
+
+        private static final ConcurrentHashMap<Class<?>, FieldWriter[]> writePlans = new ConcurrentHashMap<>();
+
+        @Override
+        public JsonObject serialize(T src, Type typeOfSrc, JsonSerializationContext context) {
+            JsonObject jsonObject = new JsonObject();
+            if (src instanceof Resource) {
+                Resource resource = (Resource) src;
+                jsonObject.addProperty("id", resource.getId());
+                jsonObject.addProperty("type", resource.getType());
+            }
+
+            for (FieldWriter writer : writePlan(src.getClass())) {
+                try {
+                    writer.write(src, jsonObject, context);
+                } catch (IllegalAccessException e) {
+                    Logger.debug("Cannot access field: " + writer.field.getName() + ".");
+                }
+            }
+            return jsonObject;
+        }
+
+        private static FieldWriter[] writePlan(Class<?> srcClass) {
+            FieldWriter[] plan = writePlans.get(srcClass);
+            if (plan == null) {
+                plan = createWritePlan(srcClass);
+                FieldWriter[] previous = writePlans.putIfAbsent(srcClass, plan);
+                if (previous != null) {
+                    plan = previous;
+                }
+            }
+            return plan;
+        }
+
+        /**
+         * A field shadowed by a subclass field with the same json name is not written, the
+         * subclass value wins.
+         */
+        private static FieldWriter[] createWritePlan(Class<?> srcClass) {
+            List<FieldWriter> writers = new ArrayList<>();
+            Set<String> names = new HashSet<>();
+            while (srcClass != null && srcClass != Resource.class && srcClass != Object.class) {
+                for (Field field : srcClass.getDeclaredFields()) {
+                    SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                    if (serializedName == null || !names.add(serializedName.value())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    writers.add(createWriter(field, serializedName.value()));
+                }
+                srcClass = srcClass.getSuperclass();
+            }
+            return writers.toArray(new FieldWriter[writers.size()]);
+        }
+
+        private static FieldWriter createWriter(Field field, String name) {
+            Class<?> type = field.getType();
+            if (type == int.class) {
+                return new FieldWriter(field, name) {
+                    @Override
+                    void write(Object src, JsonObject jsonObject, JsonSerializationContext context) throws IllegalAccessException {
+                        jsonObject.addProperty(name, field.getInt(src));
+                    }
+                };
+            } else if (type == long.class) {
+                return new FieldWriter(field, name) {
+                    @Override
+                    void write(Object src, JsonObject jsonObject, JsonSerializationContext context) throws IllegalAccessException {
+                        jsonObject.addProperty(name, field.getLong(src));
+                    }
+                };
+            } else if (type == float.class) {
+                return new FieldWriter(field, name) {
+                    @Override
+                    void write(Object src, JsonObject jsonObject, JsonSerializationContext context) throws IllegalAccessException {
+                        jsonObject.addProperty(name, field.getFloat(src));
+                    }
+                };
+            } else if (type == double.class) {
+                return new FieldWriter(field, name) {
+                    @Override
+                    void write(Object src, JsonObject jsonObject, JsonSerializationContext context) throws IllegalAccessException {
+                        jsonObject.addProperty(name, field.getDouble(src));
+                    }
+                };
+            } else if (type == boolean.class) {
+                return new FieldWriter(field, name) {
+                    @Override
+                    void write(Object src, JsonObject jsonObject, JsonSerializationContext context) throws IllegalAccessException {
+                        jsonObject.addProperty(name, field.getBoolean(src));
+                    }
+                };
+            } else if (type == String.class) {
+                return new FieldWriter(field, name) {
+                    @Override
+                    void write(Object src, JsonObject jsonObject, JsonSerializationContext context) throws IllegalAccessException {
+                        jsonObject.addProperty(name, (String) field.get(src));
+                    }
+                };
+            }
+            return new FieldWriter(field, name) {
+                @Override
+                void write(Object src, JsonObject jsonObject, JsonSerializationContext context) throws IllegalAccessException {
+                    jsonObject.add(name, context.serialize(field.get(src)));
+                }
+            };
+        }
+
+        /**
+         * Writes one field of a class into a json object.
+         */
+        private abstract static class FieldWriter {
+            final Field field;
+            final String name;
+
+            FieldWriter(Field field, String name) {
+                this.field = field;
+                this.name = name;
+            }
+
+            abstract void write(Object src, JsonObject jsonObject, JsonSerializationContext context) throws IllegalAccessException;
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || (!getClass().isInstance(obj) && !obj.getClass().isInstance(this)))
+            return false;
+        Resource that = (Resource) obj;
+        if (this.hasNumericId && that.hasNumericId) {
+            return this.numericId == that.numericId;
+        }
+        return id != null && id.equals(that.id);
+    }
+}
+
@@ -0,0 +1,243 @@
+package at.rags.morpheus;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import at.rags.morpheus.annotations.NumericId;
+import at.rags.morpheus.annotations.Relationship;
+
+/**
+ * Field metadata of a {@link Resource} class.
+ * <p>
+ * Walks the class and its superclasses (up to {@link Resource}) once and keeps the attribute
+ * and relationship fields together with their json names, so the mapping code does not have to
+ * look at declared fields and annotations for every resource.
+ */
+final class ResourceFields {
+
+    private static final ConcurrentHashMap<Class<?>, ResourceFields> cache = new ConcurrentHashMap<>();
+    private static final AtomicInteger ordinals = new AtomicInteger();
+
+    private final List<AttributeField> attributes;
+    private final List<RelationshipField> relationships;
+    private final boolean numericId;
+    private final int ordinal;
+    private final Field[] resettableFields;
+
+    private ResourceFields(List<AttributeField> attributes, List<RelationshipField> relationships,
+                           boolean numericId) {
+        this.attributes = attributes;
+        this.relationships = relationships;
+        this.numericId = numericId;
+        this.ordinal = ordinals.getAndIncrement();
+
+        List<Field> resettable = new ArrayList<>();
+        for (AttributeField attribute : attributes) {
+            resettable.add(attribute.getField());
+        }
+        for (RelationshipField relationship : relationships) {
+            resettable.add(relationship.getField());
+        }
+        for (int i = resettable.size() - 1; i >= 0; i--) {
+            if (Modifier.isFinal(resettable.get(i).getModifiers())) {
+                resettable.remove(i);
+            }
+        }
+        this.resettableFields = resettable.toArray(new Field[resettable.size()]);
+    }
+
+    /**
+     * Returns the (cached) metadata of a resource class.
+     *
+     * @param resourceClass Class extending {@link Resource}.
+     * @return Metadata of the class.
+     */
+    static ResourceFields of(Class<?> resourceClass) {
+        ResourceFields fields = cache.get(resourceClass);
+        if (fields == null) {
+            fields = create(resourceClass);
+            ResourceFields previous = cache.putIfAbsent(resourceClass, fields);
+            if (previous != null) {
+                fields = previous;
+            }
+        }
+        return fields;
+    }
+
+    private static ResourceFields create(Class<?> resourceClass) {
+        List<AttributeField> attributes = new ArrayList<>();
+        List<RelationshipField> relationships = new ArrayList<>();
+
+        for (Class<?> objClass = resourceClass;
+             objClass != null && objClass != Resource.class && objClass != Object.class;
+             objClass = objClass.getSuperclass()) {
+            for (Field field : objClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                field.setAccessible(true);
+
+                Relationship relationship = field.getAnnotation(Relationship.class);
+                if (relationship != null) {
+                    relationships.add(new RelationshipField(field, objClass, relationship.value()));
+                    continue;
+                }
+
+                String jsonName = field.getName();
+                SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                if (serializedName != null) {
+                    jsonName = serializedName.value();
+                }
+                attributes.add(new AttributeField(field, objClass, jsonName));
+            }
+        }
+
+        return new ResourceFields(Collections.unmodifiableList(attributes),
+            Collections.unmodifiableList(relationships), resourceClass.isAnnotationPresent(NumericId.class));
+    }
+
+    List<AttributeField> getAttributes() {
+        return attributes;
+    }
+
+    List<RelationshipField> getRelationships() {
+        return relationships;
+    }
+
+    /**
+     * @return True if the class is annotated with {@link NumericId}.
+     */
+    boolean hasNumericId() {
+        return numericId;
+    }
+
+    /**
+     * @return Number of the class, unique among the classes with metadata.
+     */
+    int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Sets the attributes and relationships (except final fields) to null, 0 or false.
+     *
+     * @param resource Instance of the class.
+     */
+    void reset(Resource resource) {
+        for (Field field : resettableFields) {
+            clear(resource, field);
+        }
+    }
+
+    /**
+     * Sets the field to null, 0 or false.
+     *
+     * @param resource Resource with the field.
+     * @param field    Accessible field of the resource.
+     */
+    static void clear(Resource resource, Field field) {
+        Class<?> type = field.getType();
+        try {
+            if (!type.isPrimitive()) {
+                field.set(resource, null);
+            } else if (type == boolean.class) {
+                field.setBoolean(resource, false);
+            } else if (type == char.class) {
+                field.setChar(resource, (char) 0);
+            } else {
+                field.setByte(resource, (byte) 0);
+            }
+        } catch (IllegalAccessException e) {
+            Logger.debug("Cannot access field: " + field.getName() + ".");
+        }
+    }
+
+    /**
+     * Attribute field with the name used in the json:api attributes object.
+     */
+    static final class AttributeField {
+        private final Field field;
+        private final Class<?> declaringClass;
+        private final String jsonName;
+
+        AttributeField(Field field, Class<?> declaringClass, String jsonName) {
+            this.field = field;
+            this.declaringClass = declaringClass;
+            this.jsonName = jsonName;
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        Class<?> getDeclaringClass() {
+            return declaringClass;
+        }
+
+        String getJsonName() {
+            return jsonName;
+        }
+
+        Object get(Resource resource) {
+            try {
+                return field.get(resource);
+            } catch (IllegalAccessException e) {
+                Logger.debug("Cannot access field: " + field.getName() + ".");
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Field annotated with {@link Relationship}.
+     */
+    static final class RelationshipField {
+        private final Field field;
+        private final Class<?> declaringClass;
+        private final String name;
+
+        RelationshipField(Field field, Class<?> declaringClass, String name) {
+            this.field = field;
+            this.declaringClass = declaringClass;
+            this.name = name;
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        Class<?> getDeclaringClass() {
+            return declaringClass;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Object get(Resource resource) {
+            try {
+                return field.get(resource);
+            } catch (IllegalAccessException e) {
+                Logger.debug("Cannot access field: " + field.getName() + ".");
+                return null;
+            }
+        }
+
+        void set(Resource resource, Object value) {
+            try {
+                field.set(resource, value);
+            } catch (IllegalAccessException e) {
+                Logger.debug("Cannot access field: " + field.getName() + ".");
+            } catch (RuntimeException e) {
+                Logger.debug("Could not set " + field.getName() + " field");
+            }
+        }
+    }
+}
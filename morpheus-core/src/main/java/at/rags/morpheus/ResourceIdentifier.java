@@ -0,0 +1,56 @@
+package at.rags.morpheus;
+
+import java.io.Serializable;
+
+/**
+ * Type and id of a related resource, bound instead of the resource with
+ * {@link ParseOptions#setIdentifiersOnly(boolean)}.
+ */
+public final class ResourceIdentifier implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String type;
+    private final String id;
+
+    /**
+     * @param type json:api type, not null.
+     * @param id   Id or null if the identifier has none.
+     */
+    public ResourceIdentifier(String type, String id) {
+        if (type == null) {
+            throw new IllegalArgumentException("type must not be null");
+        }
+        this.type = type;
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ResourceIdentifier)) {
+            return false;
+        }
+        ResourceIdentifier that = (ResourceIdentifier) obj;
+        return type.equals(that.type) && (id == null ? that.id == null : id.equals(that.id));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + (id == null ? 0 : id.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + id;
+    }
+}
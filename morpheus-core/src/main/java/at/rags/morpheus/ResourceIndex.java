@@ -0,0 +1,108 @@
+package at.rags.morpheus;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Index of resources by class and id, used to match relationships to included resources
+ * without scanning the whole included list for every relation.
+ * <p>
+ * Resources with a {@link at.rags.morpheus.annotations.NumericId} are kept in a table keyed by
+ * the ordinal of their class and their long id, without creating Strings or boxed keys.
+ * <p>
+ * Like the list scan it replaces, the first resource with a class and id wins.
+ */
+final class ResourceIndex {
+
+    private final HashMap<Class<?>, HashMap<String, Resource>> resources = new HashMap<>();
+    private final NumericTable numericResources;
+
+    ResourceIndex(List<Resource> included) {
+        int numericCount = 0;
+        for (Resource resource : included) {
+            if (resource.hasNumericId()) {
+                numericCount++;
+            }
+        }
+        numericResources = numericCount > 0 ? new NumericTable(numericCount) : null;
+
+        for (Resource resource : included) {
+            if (resource.hasNumericId()) {
+                numericResources.putIfAbsent(ResourceFields.of(resource.getClass()).getOrdinal(),
+                    resource.getNumericId(), resource);
+                continue;
+            }
+            HashMap<String, Resource> byId = resources.get(resource.getClass());
+            if (byId == null) {
+                byId = new HashMap<>();
+                resources.put(resource.getClass(), byId);
+            }
+            if (!byId.containsKey(resource.getId())) {
+                byId.put(resource.getId(), resource);
+            }
+        }
+    }
+
+    /**
+     * @param relation Resource (identifier) of a relationship.
+     * @return Resource with the same class and id or null.
+     */
+    Resource find(Resource relation) {
+        if (relation.hasNumericId()) {
+            return numericResources == null ? null
+                : numericResources.get(ResourceFields.of(relation.getClass()).getOrdinal(), relation.getNumericId());
+        }
+        if (relation.getId() == null) {
+            return null;
+        }
+        HashMap<String, Resource> byId = resources.get(relation.getClass());
+        return byId == null ? null : byId.get(relation.getId());
+    }
+
+    /**
+     * Open addressing hash table with (class ordinal, long id) keys.
+     */
+    private static final class NumericTable {
+        private final int[] ordinals;
+        private final long[] ids;
+        private final Resource[] values;
+        private final int mask;
+
+        NumericTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+            ordinals = new int[capacity];
+            ids = new long[capacity];
+            values = new Resource[capacity];
+            mask = capacity - 1;
+        }
+
+        void putIfAbsent(int ordinal, long id, Resource resource) {
+            int index = index(ordinal, id);
+            while (values[index] != null) {
+                if (ordinals[index] == ordinal && ids[index] == id) {
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            ordinals[index] = ordinal;
+            ids[index] = id;
+            values[index] = resource;
+        }
+
+        Resource get(int ordinal, long id) {
+            int index = index(ordinal, id);
+            while (values[index] != null) {
+                if (ordinals[index] == ordinal && ids[index] == id) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private int index(int ordinal, long id) {
+            long hash = (id ^ ((long) ordinal << 32)) * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mask;
+        }
+    }
+}
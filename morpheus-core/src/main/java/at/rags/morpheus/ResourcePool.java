@@ -0,0 +1,147 @@
+package at.rags.morpheus;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instances to parse into instead of creating new resources, set it with
+ * {@link Morpheus#setResourcePool(ResourcePool)}. Useful for screens that parse the same
+ * collection over and over (e.g. polling).
+ * <p>
+ * A data or included resource is parsed into the instance put with {@link #put(Resource)} for
+ * its type and id, otherwise into a recycled instance of its class (see {@link #recycle(Resource)}).
+ * Either way the instance is reset first, its attributes and relationships are null, 0 or false
+ * (not the values of their initializers) until mapped from the document.
+ * <pre>
+ * {@code
+ * pool.putAll(previous.getResources());
+ * pool.putAll(previous.getIncluded());
+ * JsonApiObject next = morpheus.parse(json);
+ * pool.recycleUnused();
+ * }
+ * </pre>
+ * A pool is not thread-safe, use one per {@link Morpheus} instance and do not parse with it
+ * concurrently.
+ */
+public class ResourcePool {
+    public static final int DEFAULT_MAX_RECYCLED = 256;
+
+    private final HashMap<String, HashMap<String, Resource>> resources = new HashMap<>();
+    private final HashMap<Class<?>, ArrayDeque<Resource>> recycled = new HashMap<>();
+    private int maxRecycled = DEFAULT_MAX_RECYCLED;
+
+    public int getMaxRecycled() {
+        return maxRecycled;
+    }
+
+    /**
+     * @param maxRecycled Maximum number of recycled instances kept per class, further instances
+     *                    are dropped.
+     */
+    public void setMaxRecycled(int maxRecycled) {
+        this.maxRecycled = maxRecycled;
+    }
+
+    /**
+     * Parse the resource with the type and id of this instance into it. Resources without type
+     * or id are ignored.
+     *
+     * @param resource Instance, e.g. of the previous parse.
+     */
+    public void put(Resource resource) {
+        if (resource == null || resource.getType() == null || resource.getId() == null) {
+            return;
+        }
+        HashMap<String, Resource> ofType = resources.get(resource.getType());
+        if (ofType == null) {
+            ofType = new HashMap<>();
+            resources.put(resource.getType(), ofType);
+        }
+        ofType.put(resource.getId(), resource);
+    }
+
+    /**
+     * @param resources Instances or null.
+     * @see #put(Resource)
+     */
+    public void putAll(Collection<? extends Resource> resources) {
+        if (resources == null) {
+            return;
+        }
+        for (Resource resource : resources) {
+            put(resource);
+        }
+    }
+
+    /**
+     * Reuse the instance for any resource of its class. It must not be used afterwards.
+     *
+     * @param resource Instance no longer used.
+     */
+    public void recycle(Resource resource) {
+        if (resource == null) {
+            return;
+        }
+        ArrayDeque<Resource> instances = recycled.get(resource.getClass());
+        if (instances == null) {
+            instances = new ArrayDeque<>();
+            recycled.put(resource.getClass(), instances);
+        }
+        if (instances.size() < maxRecycled) {
+            instances.push(resource);
+        }
+    }
+
+    /**
+     * Recycles the instances put with {@link #put(Resource)} that were not parsed into, e.g.
+     * resources removed from the collection since the previous parse.
+     */
+    public void recycleUnused() {
+        for (HashMap<String, Resource> ofType : resources.values()) {
+            for (Resource resource : ofType.values()) {
+                recycle(resource);
+            }
+        }
+        resources.clear();
+    }
+
+    public void clear() {
+        resources.clear();
+        recycled.clear();
+    }
+
+    /**
+     * Takes the instance for the resource out of the pool and resets it.
+     *
+     * @param type json:api type.
+     * @param id   Id from the json (String or number) or null.
+     * @return Instance or null if the pool has none for the resource.
+     */
+    Resource take(String type, Object id) {
+        Class<?> resourceClass = Deserializer.getRegisteredClasses().get(type);
+        if (resourceClass == null) {
+            return null;
+        }
+
+        Resource resource = null;
+        Map<String, Resource> ofType = id == null ? null : resources.get(type);
+        if (ofType != null) {
+            resource = ofType.remove(id instanceof String ? (String) id : String.valueOf(id));
+            if (resource != null && resource.getClass() != resourceClass) {
+                resource = null;
+            }
+        }
+        if (resource == null) {
+            ArrayDeque<Resource> instances = recycled.get(resourceClass);
+            resource = instances == null ? null : instances.poll();
+        }
+
+        if (resource != null) {
+            resource.reset();
+            ResourceFields.of(resourceClass).reset(resource);
+        }
+        return resource;
+    }
+}
@@ -0,0 +1,161 @@
+package at.rags.morpheus;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serialized json of a {@link Resource} together with the state it was created from.
+ * <p>
+ * The state is the id, every attribute and relationship value and the links. A value counts
+ * as unchanged when it is the same (or an equal) object and its hash code did not change, so
+ * collections modified in place are detected as well. Nested objects without a value based
+ * hashCode() can not be checked that way, call {@link Resource#markModified()} after changing them.
+ */
+final class SerializedForm {
+
+    private final String key;
+    private final int modificationCount;
+    private final Object[] values;
+    private final int[] hashes;
+    private final String json;
+
+    private SerializedForm(String key, int modificationCount, Object[] values, int[] hashes, String json) {
+        this.key = key;
+        this.modificationCount = modificationCount;
+        this.values = values;
+        this.hashes = hashes;
+        this.json = json;
+    }
+
+    /**
+     * Creates the serialized form of a resource in its current state.
+     *
+     * @param resource Serialized resource.
+     * @param key      Identifies the kind of representation (e.g. with or without attributes).
+     * @param json     Serialized json of the resource.
+     * @return SerializedForm.
+     */
+    static SerializedForm create(Resource resource, String key, String json) {
+        ResourceFields fields = ResourceFields.of(resource.getClass());
+        int size = fields.getAttributes().size() + fields.getRelationships().size() + 2;
+        Object[] values = new Object[size];
+        int[] hashes = new int[size];
+        captureState(resource, fields, values, hashes);
+        return new SerializedForm(key, resource.getModificationCount(), values, hashes, json);
+    }
+
+    /**
+     * Checks if the json is still valid for the resource.
+     *
+     * @param resource Serialized resource.
+     * @param key      Identifies the kind of representation.
+     * @return true if the resource did not change.
+     */
+    boolean isValidFor(Resource resource, String key) {
+        if (!this.key.equals(key) || modificationCount != resource.getModificationCount()) {
+            return false;
+        }
+
+        ResourceFields fields = ResourceFields.of(resource.getClass());
+        Object[] currentValues = new Object[values.length];
+        int[] currentHashes = new int[hashes.length];
+        captureState(resource, fields, currentValues, currentHashes);
+
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            Object currentValue = currentValues[i];
+            if (value != currentValue && (value == null || !value.equals(currentValue))) {
+                return false;
+            }
+            if (hashes[i] != currentHashes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String getJson() {
+        return json;
+    }
+
+    // helper
+
+    private static void captureState(Resource resource, ResourceFields fields, Object[] values, int[] hashes) {
+        int index = 0;
+        values[index] = resource.getId();
+        hashes[index++] = valueHash(resource.getId());
+
+        for (ResourceFields.AttributeField attribute : fields.getAttributes()) {
+            Object value = attribute.get(resource);
+            values[index] = value;
+            hashes[index++] = valueHash(value);
+        }
+
+        for (ResourceFields.RelationshipField relationship : fields.getRelationships()) {
+            Object value = relationship.get(resource);
+            values[index] = value;
+            hashes[index++] = relationHash(value);
+        }
+
+        Links links = resource.getLinks();
+        values[index] = links;
+        hashes[index] = linksHash(links);
+    }
+
+    private static int valueHash(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Object[]) {
+            return Arrays.deepHashCode((Object[]) value);
+        }
+        if (value instanceof int[]) {
+            return Arrays.hashCode((int[]) value);
+        }
+        if (value instanceof long[]) {
+            return Arrays.hashCode((long[]) value);
+        }
+        if (value instanceof double[]) {
+            return Arrays.hashCode((double[]) value);
+        }
+        if (value instanceof float[]) {
+            return Arrays.hashCode((float[]) value);
+        }
+        if (value instanceof boolean[]) {
+            return Arrays.hashCode((boolean[]) value);
+        }
+        if (value instanceof byte[]) {
+            return Arrays.hashCode((byte[]) value);
+        }
+        if (value instanceof short[]) {
+            return Arrays.hashCode((short[]) value);
+        }
+        if (value instanceof char[]) {
+            return Arrays.hashCode((char[]) value);
+        }
+        return value.hashCode();
+    }
+
+    private static int relationHash(Object relation) {
+        if (relation instanceof Resource) {
+            Resource resource = (Resource) relation;
+            return 31 * resource.getClass().hashCode() + valueHash(resource.getId());
+        }
+        if (relation instanceof List) {
+            int hash = 1;
+            for (Object item : (List) relation) {
+                hash = 31 * hash + relationHash(item);
+            }
+            return hash;
+        }
+        return 0;
+    }
+
+    private static int linksHash(Links links) {
+        if (links == null) {
+            return 0;
+        }
+        return Arrays.hashCode(new Object[]{links.getSelfLink(), links.getRelated(), links.getFirst(),
+            links.getLast(), links.getPrev(), links.getNext(), links.getAbout()});
+    }
+}
@@ -5,6 +5,7 @@ import com.google.gson.annotations.SerializedName;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.Set;
 
 import at.rags.morpheus.annotations.Relationship;
 
@@ -58,6 +59,27 @@ public class Serializer {
     return fieldDict;
   }
 
+  /**
+   * Return the given attributes of a resource as dictionary with the json name as key.
+   * Unlike {@link #getFieldsAsDictionary(Resource)} null values are kept, so cleared attributes
+   * can be sent.
+   *
+   * @param resource   A morpheus resource.
+   * @param fieldNames Json names of the attributes to add.
+   * @return hashMap of field names and values.
+   */
+  public HashMap<String, Object> getFieldsAsDictionary(Resource resource, Set<String> fieldNames) {
+    HashMap<String, Object> fieldDict = new HashMap<>();
+
+    for (ResourceFields.AttributeField attribute : ResourceFields.of(resource.getClass()).getAttributes()) {
+      if (fieldNames.contains(attribute.getJsonName())) {
+        fieldDict.put(attribute.getJsonName(), attribute.get(resource));
+      }
+    }
+
+    return fieldDict;
+  }
+
   public HashMap<String, Object> getRelationships(Resource resource) {
     HashMap<String, Object> relationships = new HashMap<>();
 
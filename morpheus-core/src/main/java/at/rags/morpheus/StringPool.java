@@ -0,0 +1,91 @@
+package at.rags.morpheus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Deduplicates strings while parsing, set it with {@link Morpheus#setStringPool(StringPool)}.
+ * <p>
+ * With a pool, resource types reuse the names of {@link Deserializer#registerResourceClass(String, Class)},
+ * ids of relationships (which repeat across resources) and the values of the attributes set with
+ * {@link #setAttributes(String...)} share one instance per value.
+ * <p>
+ * The pool is bounded: it has a fixed number of slots and a value replaces the value in its slot,
+ * so it never grows and frequent values stay in it. Strings longer than the maximum length are not pooled.
+ * A pool can be shared between threads.
+ */
+public class StringPool {
+    public static final int DEFAULT_SIZE = 1024;
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private final String[] slots;
+    private final int mask;
+    private final int maxLength;
+    private volatile Set<String> attributes = Collections.emptySet();
+
+    public StringPool() {
+        this(DEFAULT_SIZE, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * @param size      Number of slots, rounded up to a power of two.
+     * @param maxLength Maximum length of pooled strings.
+     */
+    public StringPool(int size, int maxLength) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        int slotCount = Integer.highestOneBit(size);
+        if (slotCount < size) {
+            slotCount <<= 1;
+        }
+        this.slots = new String[slotCount];
+        this.mask = slotCount - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Set the json names of String attributes whose values are pooled, e.g. "state".
+     * Use it for attributes with few distinct values.
+     *
+     * @param jsonNames Names of the attributes in the json:api attributes object.
+     */
+    public void setAttributes(String... jsonNames) {
+        attributes = new HashSet<>(Arrays.asList(jsonNames));
+    }
+
+    public Set<String> getAttributes() {
+        return Collections.unmodifiableSet(attributes);
+    }
+
+    boolean isPooledAttribute(String jsonName) {
+        return attributes.contains(jsonName);
+    }
+
+    /**
+     * @param value String to deduplicate.
+     * @return Equal string from the pool or the value itself.
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String pooled = slots[index];
+        if (value.equals(pooled)) {
+            return pooled;
+        }
+        slots[index] = value;
+        return value;
+    }
+
+    /**
+     * Removes all strings from the pool.
+     */
+    public void clear() {
+        Arrays.fill(slots, null);
+    }
+}
@@ -0,0 +1,29 @@
+package at.rags.morpheus.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+/**
+ * Declares that the ids of a resource are numbers ("42").
+ * <p>
+ * Parsed ids are kept as a long next to the String of {@code getId()}, included resources are
+ * matched to relationships by the long id. Ids that are not plain numbers (e.g. "007" or "a1")
+ * are kept as String only.
+ *
+ * <pre>
+ * {@code
+ * @NumericId
+ * public class Vitals extends Resource { ... }
+ * }
+ * </pre>
+ */
+public @interface NumericId {
+}
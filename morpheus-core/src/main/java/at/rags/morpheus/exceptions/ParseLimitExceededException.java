@@ -0,0 +1,18 @@
+package at.rags.morpheus.exceptions;
+
+import org.json.JSONException;
+
+import at.rags.morpheus.ParseLimits;
+
+/**
+ * Thrown when a document exceeds one of the {@link ParseLimits} and the policy is
+ * {@link ParseLimits.Policy#FAIL}.
+ */
+public class ParseLimitExceededException extends JSONException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ParseLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,87 @@
+package at.rags.morpheus.retrofit;
+
+/**
+ * Measurements of one response converted by {@link JsonApiConverterFactory}.
+ */
+public final class Conversion {
+
+    private final String endpoint;
+    private final String targetType;
+    private final long bodyBytes;
+    private final long readNanos;
+    private final long parseNanos;
+    private final int resourceCount;
+    private final boolean successful;
+
+    Conversion(String endpoint, String targetType, long bodyBytes, long readNanos, long parseNanos,
+               int resourceCount, boolean successful) {
+        this.endpoint = endpoint;
+        this.targetType = targetType;
+        this.bodyBytes = bodyBytes;
+        this.readNanos = readNanos;
+        this.parseNanos = parseNanos;
+        this.resourceCount = resourceCount;
+        this.successful = successful;
+    }
+
+    /**
+     * @return Http method and relative url of the service method (e.g. "GET articles/{id}"),
+     * null if the service method has no http annotation.
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return Return type the response got converted to.
+     */
+    public String getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * @return Size of the response body in bytes.
+     */
+    public long getBodyBytes() {
+        return bodyBytes;
+    }
+
+    /**
+     * @return Time to read the response body in nanoseconds.
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    /**
+     * @return Time to parse the response body in nanoseconds.
+     */
+    public long getParseNanos() {
+        return parseNanos;
+    }
+
+    /**
+     * @return Number of resources in data.
+     */
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    /**
+     * @return false if the body could not be parsed.
+     */
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    @Override
+    public String toString() {
+        return "Conversion{endpoint=" + endpoint
+            + ", targetType=" + targetType
+            + ", bodyBytes=" + bodyBytes
+            + ", readNanos=" + readNanos
+            + ", parseNanos=" + parseNanos
+            + ", resourceCount=" + resourceCount
+            + ", successful=" + successful + "}";
+    }
+}
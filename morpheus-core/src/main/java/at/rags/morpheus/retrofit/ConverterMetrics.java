@@ -0,0 +1,25 @@
+package at.rags.morpheus.retrofit;
+
+/**
+ * Receives a {@link Conversion} for every response converted by {@link JsonApiConverterFactory}.
+ * <p>
+ * Called on the thread converting the response, implementations must be thread safe.
+ *
+ * @see HistogramConverterMetrics
+ */
+public interface ConverterMetrics {
+
+    /**
+     * Metrics that drops all conversions.
+     */
+    ConverterMetrics NONE = new ConverterMetrics() {
+        @Override
+        public void record(Conversion conversion) {
+        }
+    };
+
+    /**
+     * @param conversion Measurements of one converted response.
+     */
+    void record(Conversion conversion);
+}
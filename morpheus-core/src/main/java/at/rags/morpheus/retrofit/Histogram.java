@@ -0,0 +1,82 @@
+package at.rags.morpheus.retrofit;
+
+/**
+ * Histogram of non-negative values (durations in nanoseconds, sizes in bytes) with logarithmic
+ * buckets.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets, so percentiles are accurate to
+ * about 12%. Memory does not grow with the number of values.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+    private long count;
+    private long max;
+
+    /**
+     * @param value Value to add, negative values are counted as 0.
+     */
+    public synchronized void record(long value) {
+        value = Math.max(0, value);
+        counts[bucketIndex(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * @return Number of recorded values.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Largest recorded value.
+     */
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the value below which the given share of values fall, e.g. 0.99 for p99.
+     *
+     * @param quantile Quantile between 0 and 1.
+     * @return Upper bound of the bucket containing the quantile, 0 if nothing was recorded.
+     */
+    public synchronized long getValueAtQuantile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(1, Math.max(0, quantile)) * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
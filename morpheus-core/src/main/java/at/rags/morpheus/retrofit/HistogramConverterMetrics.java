@@ -0,0 +1,86 @@
+package at.rags.morpheus.retrofit;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ConverterMetrics} keeping read and parse latency histograms in memory, grouped by
+ * endpoint (or target type for service methods without http annotation).
+ *
+ * <pre>
+ * {@code
+ *  HistogramConverterMetrics metrics = new HistogramConverterMetrics();
+ *  converterFactory.setMetrics(metrics);
+ *  ...
+ *  long p99 = metrics.getParseLatency("GET articles").getValueAtQuantile(0.99);
+ * }
+ * </pre>
+ */
+public class HistogramConverterMetrics implements ConverterMetrics {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(Conversion conversion) {
+        String key = conversion.getEndpoint() != null ? conversion.getEndpoint() : conversion.getTargetType();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            Entry newEntry = new Entry();
+            entry = entries.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        entry.readLatency.record(conversion.getReadNanos());
+        entry.parseLatency.record(conversion.getParseNanos());
+        entry.bodyBytes.record(conversion.getBodyBytes());
+    }
+
+    /**
+     * @return Endpoints (or target types) with recorded conversions.
+     */
+    public Set<String> getKeys() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * @param key Endpoint or target type.
+     * @return Histogram of the time to read the body, null if nothing was recorded for the key.
+     */
+    public Histogram getReadLatency(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.readLatency;
+    }
+
+    /**
+     * @param key Endpoint or target type.
+     * @return Histogram of the time to parse the body, null if nothing was recorded for the key.
+     */
+    public Histogram getParseLatency(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.parseLatency;
+    }
+
+    /**
+     * @param key Endpoint or target type.
+     * @return Histogram of the body sizes in bytes, null if nothing was recorded for the key.
+     */
+    public Histogram getBodyBytes(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.bodyBytes;
+    }
+
+    /**
+     * Removes all recorded conversions.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final Histogram readLatency = new Histogram();
+        private final Histogram parseLatency = new Histogram();
+        private final Histogram bodyBytes = new Histogram();
+    }
+}
@@ -0,0 +1,191 @@
+package at.rags.morpheus.retrofit;
+
+import com.google.gson.Gson;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import at.rags.morpheus.AttributeMapper;
+import at.rags.morpheus.Deserializer;
+import at.rags.morpheus.Error;
+import at.rags.morpheus.JsonApiObject;
+import at.rags.morpheus.Morpheus;
+import at.rags.morpheus.Operation;
+import at.rags.morpheus.ParseLimits;
+import at.rags.morpheus.Resource;
+import at.rags.morpheus.annotations.JsonApiType;
+import at.rags.morpheus.exceptions.TypeNameMissingException;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HTTP;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Retrofit adapter factory. Register all possible {@link Resource}
+ * classes by calling {@link JsonApiConverterFactory#create(Class[])}.
+ * \n
+ * List of resources must be defined as {@code List<Resource>}
+ */
+
+public class JsonApiConverterFactory extends Converter.Factory {
+
+    private Morpheus morpheus;
+    private volatile ConverterMetrics metrics = ConverterMetrics.NONE;
+
+    /**
+     * Register all possible types extending {@link Resource}
+     */
+    public static at.rags.morpheus.retrofit.JsonApiConverterFactory create(Class<? extends Resource>... types) {
+        return create(new Gson(), types);
+    }
+
+    /**
+     * Register all possible types extending {@link Resource}
+     */
+    public static at.rags.morpheus.retrofit.JsonApiConverterFactory create(Gson gson, Class<? extends Resource>... types) {
+        if (types != null) {
+            for (Class type : types) {
+                if (Resource.class.isAssignableFrom(type)) {
+                    registerResourceClass(type);
+                }
+            }
+        }
+        return new at.rags.morpheus.retrofit.JsonApiConverterFactory(gson);
+    }
+
+    private JsonApiConverterFactory(Gson gson) {
+        morpheus = new Morpheus(new AttributeMapper(new Deserializer(), gson));
+    }
+
+    /**
+     * Records body size, read and parse time and the number of resources of every converted
+     * response. Can be changed at any time, also for converters Retrofit already created.
+     *
+     * @param metrics Metrics to record to or null to stop recording.
+     * @see HistogramConverterMetrics
+     */
+    public void setMetrics(ConverterMetrics metrics) {
+        this.metrics = metrics == null ? ConverterMetrics.NONE : metrics;
+    }
+
+    /**
+     * @return The metrics, read by the converters for every response.
+     */
+    ConverterMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Limits for the response bodies. Bodies exceeding them fail with an {@link java.io.IOException}
+     * caused by a {@link at.rags.morpheus.exceptions.ParseLimitExceededException}, bodies with a
+     * larger content length than the document length limit without being read.
+     *
+     * @param parseLimits Limits or null to remove all limits.
+     * @see Morpheus#setParseLimits(ParseLimits)
+     */
+    public void setParseLimits(ParseLimits parseLimits) {
+        morpheus.setParseLimits(parseLimits);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (type instanceof Class) {
+            if (Resource.class.isAssignableFrom((Class<?>) type)) {
+                return newConverter((Class<?>) type, type, annotations);
+            } else if (JsonApiObject.class.isAssignableFrom((Class<?>) type)) {
+                return newConverter((Class<?>) type, type, annotations);
+            }
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            if (parameterizedType.getRawType() == List.class
+                && parameterizedType.getActualTypeArguments()[0] == Error.class) {
+                return errorBodyConverter();
+            }
+            if (parameterizedType.getRawType() == List.class
+                && Resource.class.isAssignableFrom((Class<?>) parameterizedType.getActualTypeArguments()[0])) {
+                return newConverter((Class<?>) parameterizedType.getRawType(), type, annotations);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts {@code List<Operation>} bodies to atomic operations requests, e.g.
+     * {@code @POST("operations") Call<JsonApiObject> sync(@Body List<Operation> operations);}.
+     * The results are in {@link JsonApiObject#getResults()} of the response.
+     */
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            if (parameterizedType.getRawType() == List.class
+                && parameterizedType.getActualTypeArguments()[0] == Operation.class) {
+                return new JsonApiOperationsConverter(morpheus);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a converter for error bodies that only maps the errors of the document.
+     * The factory also returns it for service methods returning {@code List<Error>}.
+     *
+     * <pre>
+     * {@code
+     *  List<Error> errors = converterFactory.errorBodyConverter().convert(response.errorBody());
+     * }
+     * </pre>
+     *
+     * @return Converter of error bodies.
+     */
+    public Converter<ResponseBody, List<Error>> errorBodyConverter() {
+        return new JsonApiErrorConverter(morpheus);
+    }
+
+    private <T> JsonApiResponseConverter<T> newConverter(Class<T> typeClass, Type type, Annotation[] annotations) {
+        String targetType = type instanceof Class ? ((Class<?>) type).getName() : type.toString();
+        return new JsonApiResponseConverter<>(morpheus, typeClass, this, endpoint(annotations), targetType);
+    }
+
+    /**
+     * Returns http method and relative url of the service method, e.g. "GET articles/{id}".
+     */
+    private static String endpoint(Annotation[] annotations) {
+        if (annotations == null) {
+            return null;
+        }
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof GET) {
+                return "GET " + ((GET) annotation).value();
+            } else if (annotation instanceof POST) {
+                return "POST " + ((POST) annotation).value();
+            } else if (annotation instanceof PUT) {
+                return "PUT " + ((PUT) annotation).value();
+            } else if (annotation instanceof PATCH) {
+                return "PATCH " + ((PATCH) annotation).value();
+            } else if (annotation instanceof DELETE) {
+                return "DELETE " + ((DELETE) annotation).value();
+            } else if (annotation instanceof HTTP) {
+                return ((HTTP) annotation).method() + " " + ((HTTP) annotation).path();
+            }
+        }
+        return null;
+    }
+
+    private static void registerResourceClass(Class<?> type) throws TypeNameMissingException {
+        Annotation a = type.getAnnotation(JsonApiType.class);
+        if (a == null) {
+            throw new TypeNameMissingException(type);
+        }
+        Deserializer.registerResourceClass(((JsonApiType) a).value(), type);
+    }
+}
@@ -0,0 +1,34 @@
+package at.rags.morpheus.retrofit;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.util.List;
+
+import at.rags.morpheus.Error;
+import at.rags.morpheus.Morpheus;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+/**
+ * Converts error bodies to their json:api errors without mapping data or included. Malformed
+ * bodies fail with an {@link IOException} caused by the {@link JSONException}.
+ */
+class JsonApiErrorConverter implements Converter<ResponseBody, List<Error>> {
+
+    private Morpheus morpheus;
+
+    JsonApiErrorConverter(Morpheus morpheus) {
+        this.morpheus = morpheus;
+    }
+
+    @Override
+    public List<Error> convert(ResponseBody value) throws IOException {
+        String json = JsonApiResponseConverter.decode(value.bytes(), value.contentType());
+        try {
+            return morpheus.parseErrors(json);
+        } catch (JSONException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package at.rags.morpheus.retrofit;
+
+import java.io.IOException;
+import java.util.List;
+
+import at.rags.morpheus.Morpheus;
+import at.rags.morpheus.Operation;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import retrofit2.Converter;
+
+/**
+ * Converts {@code List<Operation>} bodies to an atomic operations request.
+ */
+class JsonApiOperationsConverter implements Converter<List<Operation>, RequestBody> {
+
+    static final MediaType MEDIA_TYPE =
+        MediaType.parse("application/vnd.api+json; ext=\"https://jsonapi.org/ext/atomic\"");
+
+    private Morpheus morpheus;
+
+    JsonApiOperationsConverter(Morpheus morpheus) {
+        this.morpheus = morpheus;
+    }
+
+    @Override
+    public RequestBody convert(List<Operation> value) throws IOException {
+        return RequestBody.create(MEDIA_TYPE, morpheus.createOperationsJson(value));
+    }
+}
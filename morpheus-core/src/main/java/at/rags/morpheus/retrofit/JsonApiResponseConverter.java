@@ -0,0 +1,107 @@
+package at.rags.morpheus.retrofit;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import at.rags.morpheus.JsonApiObject;
+import at.rags.morpheus.Logger;
+import at.rags.morpheus.Morpheus;
+import at.rags.morpheus.ParseLimits;
+import at.rags.morpheus.Resource;
+import at.rags.morpheus.exceptions.NotExtendingResourceException;
+import at.rags.morpheus.exceptions.ParseLimitExceededException;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+
+class JsonApiResponseConverter<T> implements Converter<ResponseBody, T> {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private Morpheus morpheus;
+    private Class<T> typeClass;
+    private JsonApiConverterFactory factory;
+    private String endpoint;
+    private String targetType;
+
+    /**
+     * @param factory Factory of the converter, its metrics are read for every response.
+     */
+    JsonApiResponseConverter(Morpheus morpheus, Class<T> typeClass, JsonApiConverterFactory factory,
+                             String endpoint, String targetType) {
+        this.morpheus = morpheus;
+        this.typeClass = typeClass;
+        this.factory = factory;
+        this.endpoint = endpoint;
+        this.targetType = targetType;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T convert(ResponseBody value) throws IOException {
+        ParseLimits limits = morpheus.getParseLimits();
+        if (limits != null && value.contentLength() > limits.getMaxDocumentLength()) {
+            value.close();
+            throw new IOException(new ParseLimitExceededException("Document length " + value.contentLength()
+                + " exceeds " + limits.getMaxDocumentLength()));
+        }
+
+        long readStart = System.nanoTime();
+        byte[] bytes = value.bytes();
+        String json = decode(bytes, value.contentType());
+        long parseStart = System.nanoTime();
+
+        T result = null;
+        JsonApiObject jsonApiObject = null;
+        try {
+            jsonApiObject = morpheus.parse(json);
+            if (List.class.isAssignableFrom(typeClass)) {
+                result = (T) jsonApiObject.getResources();
+            } else if (Resource.class.isAssignableFrom(typeClass)) {
+                result = (T) jsonApiObject.getResource();
+            } else {
+                result = (T) jsonApiObject;
+            }
+        } catch (ParseLimitExceededException e) {
+            throw new IOException(e);
+        } catch (JSONException e) {
+            Logger.debug("Failed parsing JsonApi response.", e);
+        } catch (NotExtendingResourceException e) {
+            Logger.debug("Failed parsing JsonApi response.", e);
+        }
+
+        ConverterMetrics metrics = factory.getMetrics();
+        if (metrics != ConverterMetrics.NONE) {
+            long end = System.nanoTime();
+            metrics.record(new Conversion(endpoint, targetType, bytes.length, parseStart - readStart,
+                end - parseStart, resourceCount(jsonApiObject), jsonApiObject != null));
+        }
+        return result;
+    }
+
+    /**
+     * Decodes the body with the charset of the content type (UTF-8 by default) and drops a
+     * byte order mark.
+     */
+    static String decode(byte[] bytes, MediaType contentType) {
+        String json = new String(bytes, contentType != null ? contentType.charset(UTF_8) : UTF_8);
+        if (json.length() > 0 && json.charAt(0) == '\uFEFF') {
+            json = json.substring(1);
+        }
+        return json;
+    }
+
+    private static int resourceCount(JsonApiObject jsonApiObject) {
+        if (jsonApiObject == null) {
+            return 0;
+        }
+        if (jsonApiObject.getResources() != null) {
+            return jsonApiObject.getResources().size();
+        }
+        return jsonApiObject.getResource() != null ? 1 : 0;
+    }
+}
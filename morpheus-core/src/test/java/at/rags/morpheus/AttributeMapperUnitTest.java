@@ -1,7 +1,5 @@
 package at.rags.morpheus;
 
-import android.util.ArrayMap;
-
 import com.google.gson.Gson;
 
 import org.json.JSONArray;
@@ -41,7 +39,7 @@ public class AttributeMapperUnitTest {
     }
 
     @Test
-    public void testJsonObjectToArrayMapWithData() throws Exception {
+    public void testJsonObjectToHashMapWithData() throws Exception {
         JSONObject jsonObject = mock(JSONObject.class);
         Iterator mockIter = mock(Iterator.class);
         when(mockIter.hasNext()).thenReturn(true, true, false);
@@ -138,7 +136,7 @@ public class AttributeMapperUnitTest {
         Field field = Article.class.getDeclaredField("map");
         attributeMapper.mapAttributeToObject(article, null, jsonObject, field, "map");
 
-        ArgumentCaptor<ArrayMap> mapArgumentCaptor = ArgumentCaptor.forClass(ArrayMap.class);
+        ArgumentCaptor<HashMap> mapArgumentCaptor = ArgumentCaptor.forClass(HashMap.class);
 
         verify(mockDeserializer).setField(Matchers.<Resource>anyObject(), Matchers.<Class<Article>>anyObject(), eq("map"), mapArgumentCaptor.capture());
 
@@ -146,7 +144,7 @@ public class AttributeMapperUnitTest {
     }
 
     @Test
-    public void testJsonObjectToArrayMapException() throws Exception {
+    public void testJsonObjectToHashMapException() throws Exception {
         JSONObject jsonObject = mock(JSONObject.class);
         Iterator mockIter = mock(Iterator.class);
 
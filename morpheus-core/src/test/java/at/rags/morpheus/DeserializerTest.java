@@ -1,5 +1,6 @@
 package at.rags.morpheus;
 
+import org.junit.After;
 import org.junit.Test;
 
 import java.util.HashMap;
@@ -9,9 +10,12 @@ import at.rags.morpheus.resources.Article;
 import at.rags.morpheus.resources.FalseResource;
 import at.rags.morpheus.resources.InterfaceArticle;
 import at.rags.morpheus.resources.MultiExtendResource;
+import at.rags.morpheus.testresources.Vitals;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -20,6 +24,11 @@ import static org.mockito.Mockito.when;
  */
 public class DeserializerTest {
 
+    @After
+    public void tearDown() {
+        Deserializer.setRegisteredClasses(new HashMap<String, Class>());
+    }
+
     @Test
     public void testCreateObjectFromString() throws Exception {
         HashMap<String, Class> mockMap = mock(HashMap.class);
@@ -108,4 +117,18 @@ public class DeserializerTest {
         assertEquals(multiExtendResource.getId(), "123456");
     }
 
+    @Test
+    public void testSetIdFieldNumericId() throws Exception {
+        Deserializer deserializer = new Deserializer();
+        Vitals vitals = new Vitals();
+
+        deserializer.setIdField(vitals, 42);
+        assertTrue(((Resource) vitals).hasNumericId());
+        assertEquals("42", vitals.getId());
+
+        deserializer.setIdField(vitals, "a1");
+        assertFalse(((Resource) vitals).hasNumericId());
+        assertEquals("a1", vitals.getId());
+    }
+
 }
@@ -0,0 +1,1256 @@
+package at.rags.morpheus;
+
+import com.google.gson.Gson;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import at.rags.morpheus.annotations.JsonApiType;
+import at.rags.morpheus.exceptions.NotExtendingResourceException;
+import at.rags.morpheus.exceptions.ParseLimitExceededException;
+import at.rags.morpheus.testresources.Article;
+import at.rags.morpheus.testresources.Author;
+import at.rags.morpheus.testresources.BasicExpert;
+import at.rags.morpheus.testresources.BasicPerson;
+import at.rags.morpheus.testresources.ChatRoom;
+import at.rags.morpheus.testresources.ChatSession;
+import at.rags.morpheus.testresources.ChildArticle;
+import at.rags.morpheus.testresources.ClinicalQueueItem;
+import at.rags.morpheus.testresources.Comment;
+import at.rags.morpheus.testresources.Gender;
+import at.rags.morpheus.testresources.Location;
+import at.rags.morpheus.testresources.Patient;
+import at.rags.morpheus.testresources.Product;
+import at.rags.morpheus.testresources.Vitals;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+public class MorpheusMappingTests {
+
+    @Before
+    public void setup() {
+        Deserializer.setRegisteredClasses(new HashMap<String, Class>());
+    }
+
+    @Test
+    public void testInit() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Logger.setDebug(true);
+        assertNotNull(morpheus);
+    }
+
+    @Test
+    public void testDataArray() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("articles.json"));
+
+        assertTrue(jsonApiObject.getResources().size() == 1);
+        assertTrue(jsonApiObject.getResources().get(0).getClass() == Article.class);
+        Article article = (Article) jsonApiObject.getResources().get(0);
+        assertTrue(article.getId().equals("1"));
+        assertEquals("articles", article.getType());
+        assertTrue(article.getTitle().equals("JSON API paints my bikeshed!"));
+    }
+
+    @Test
+    public void testDataObject() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("article.json"));
+
+        assertNotNull(jsonApiObject.getResource());
+        assertTrue(jsonApiObject.getResource().getClass() == Article.class);
+        Article article = (Article) jsonApiObject.getResource();
+        assertTrue(article.getId().equals("1"));
+        assertTrue(article.getTitle().equals("JSON API paints my bikeshed!"));
+    }
+
+    @Test
+    public void testDataObjectMeta() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("article.json"));
+
+        assertNotNull(jsonApiObject.getResource());
+        assertTrue(jsonApiObject.getResource().getClass() == Article.class);
+        Article article = (Article) jsonApiObject.getResource();
+        assertTrue(article.getId().equals("1"));
+        assertTrue(article.getTitle().equals("JSON API paints my bikeshed!"));
+        assertNotNull(article.getMeta());
+        assertEquals(article.getMeta().get("test-meta"), "yes");
+    }
+
+    @Test
+    public void testWithParentAttributes() throws NotExtendingResourceException, JSONException {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("child_article", ChildArticle.class);
+        String jsonString = "{\"data\":{\"attributes\":{\"title\":null, \"child\":\"a child\", \"child_id\":null},\"id\":\"1\",\"type\":\"child_article\"}}";
+        JsonApiObject jsonApiObject = morpheus.parse(jsonString);
+        assertNotNull(jsonApiObject.getResource());
+        ChildArticle childArticle = (ChildArticle) jsonApiObject.getResource();
+        assertEquals(null, childArticle.getTitle());
+        assertEquals("a child", childArticle.getChild());
+        assertEquals(0, childArticle.getChildId());
+    }
+
+    @Test
+    public void testWithParentRelations() throws NotExtendingResourceException, JSONException, IOException {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("child_article", ChildArticle.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+        JsonApiObject jsonApiObject = morpheus.parse(loadJSONFromResource("child_article.json"));
+        assertNotNull(jsonApiObject.getResource());
+        ChildArticle childArticle = (ChildArticle) jsonApiObject.getResource();
+        assertNotNull(childArticle.getAuthor());
+        assertEquals("Dan", childArticle.getAuthor().getFirstName());
+    }
+
+    @Test
+    public void testComplicatedModel() throws NotExtendingResourceException, JSONException, IOException {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass(ClinicalQueueItem.class.getAnnotation(JsonApiType.class).value(), ClinicalQueueItem.class);
+        Deserializer.registerResourceClass(ChatSession.class.getAnnotation(JsonApiType.class).value(), ChatSession.class);
+        Deserializer.registerResourceClass(ChatRoom.class.getAnnotation(JsonApiType.class).value(), ChatRoom.class);
+        Deserializer.registerResourceClass(Article.class.getAnnotation(JsonApiType.class).value(), Article.class);
+        Deserializer.registerResourceClass(Author.class.getAnnotation(JsonApiType.class).value(), Author.class);
+        Deserializer.registerResourceClass(BasicExpert.class.getAnnotation(JsonApiType.class).value(), BasicExpert.class);
+        Deserializer.registerResourceClass(BasicPerson.class.getAnnotation(JsonApiType.class).value(), BasicPerson.class);
+
+        JsonApiObject jsonApiObject = morpheus.parse(loadJSONFromResource("chatsession.json"));
+        assertNotNull(jsonApiObject.getResources());
+        assertTrue(jsonApiObject.getResources().get(0) instanceof ChatSession);
+        ChatSession chatSession = (ChatSession) jsonApiObject.getResources().get(0);
+        assertEquals("29064", chatSession.getId());
+        assertEquals("1272", chatSession.getChatRoom().getId());
+        assertEquals("7999209", chatSession.getChatRoom().getPin());
+        assertEquals("initiated", chatSession.getState());
+        assertEquals("Addiction medicine", chatSession.getExpert().getSpecialty());
+        assertEquals("Dr. Expert", chatSession.getExpert().getName().getFullName());
+        assertEquals(Gender.MALE, chatSession.getPatient().getGender());
+
+        // Nested includes test
+        jsonApiObject = morpheus.parse(loadJSONFromResource("clinicalqueue.json"));
+        assertNotNull(jsonApiObject.getResources());
+        assertTrue(jsonApiObject.getResources().get(0) instanceof ClinicalQueueItem);
+        ClinicalQueueItem clinicalqueue = (ClinicalQueueItem) jsonApiObject.getResources().get(0);
+        assertEquals("9552780", clinicalqueue.getChatSession().getChatRoom().getPin());
+        assertEquals("test", clinicalqueue.getChatSession().getChatRoom().getArticles().get(0).getTitle());
+        assertEquals("first-name", clinicalqueue.getChatSession().getChatRoom().getArticles().get(0).getAuthor().getFirstName());
+    }
+
+    @Test
+    public void testRelationship() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("articles.json"));
+
+        assertTrue(jsonApiObject.getResources().size() == 1);
+        assertTrue(jsonApiObject.getResources().get(0).getClass() == Article.class);
+        Article article = (Article) jsonApiObject.getResources().get(0);
+        assertNotNull(article.getAuthor());
+        assertTrue(article.getComments().size() == 2);
+    }
+
+    @Test
+    public void testRelationshipMetas() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("article.json"));
+
+        assertTrue(jsonApiObject.getResource().getRelationshipMetas().get("author") != null);
+        assertEquals("test", jsonApiObject.getResource().getRelationshipMetas().get("author").getString("test"));
+
+        jsonApiObject =
+            morpheus.parse(loadJSONFromResource("articles.json"));
+
+        assertTrue(jsonApiObject.getResources().get(0).getRelationshipMetas().get("comments") != null);
+        assertEquals("test", jsonApiObject.getResources().get(0).getRelationshipMetas().get("comments").getString("test"));
+    }
+
+    @Test
+    public void testIncluded() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("articles.json"));
+
+        assertTrue(jsonApiObject.getIncluded().size() == 3);
+    }
+
+    @Test
+    public void testIncludedRelations() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("article.json"));
+
+        assertNotNull(jsonApiObject.getResource());
+        Article article = (Article) jsonApiObject.getResource();
+        assertTrue(article.getAuthor().getFirstName().equals("Dan"));
+
+        Comment comment = (Comment) article.getComments().get(0);
+        assertTrue(comment.getBody().equals("First!"));
+    }
+
+    @Test
+    public void testLinks() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("article.json"));
+
+        assertEquals(jsonApiObject.getLinks().getSelfLink(), "http://example.com/articles");
+        assertEquals(jsonApiObject.getLinks().getNext(), "http://example.com/articles?page[offset]=2");
+        assertEquals(jsonApiObject.getLinks().getLast(), "http://example.com/articles?page[offset]=10");
+
+        assertNotNull(jsonApiObject.getResource());
+        Article article = (Article) jsonApiObject.getResource();
+        assertNotNull(article.getLinks());
+        assertTrue(article.getLinks().getSelfLink().equals("http://example.com/articles/1"));
+        assertNull(article.getLinks().getRelated());
+    }
+
+    @Test
+    public void testPaginationLinks() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("article.json"));
+
+        assertNotNull(jsonApiObject.getLinks());
+        assertTrue(jsonApiObject.getLinks().getSelfLink().equals("http://example.com/articles"));
+        assertTrue(jsonApiObject.getLinks().getNext().equals("http://example.com/articles?page[offset]=2"));
+        assertTrue(jsonApiObject.getLinks().getLast().equals("http://example.com/articles?page[offset]=10"));
+        assertNull(jsonApiObject.getLinks().getRelated());
+    }
+
+    @Test
+    public void testMeta() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("articles.json"));
+
+        assertNotNull(jsonApiObject.getMeta());
+        assertTrue(jsonApiObject.getMeta().get("testmeta").equals("yes"));
+    }
+
+    @Test
+    public void testAttributesArray() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("article.json"));
+
+        assertNotNull(jsonApiObject.getLinks());
+        Article article = (Article) jsonApiObject.getResource();
+
+        assertTrue(article.getTags().get(0).equals("main"));
+        assertTrue(article.getTags().get(1).equals("dev"));
+    }
+
+    @Test
+    public void testAttributesTypes() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("products", Product.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("product.json"));
+
+        Product product = (Product) jsonApiObject.getResources().get(0);
+
+        assertEquals("123456", product.getId());
+        assertEquals("Fancy new roboter", product.getName());
+        assertTrue(product.getPrice() == 999.75);
+        assertTrue(product.getInStock() == 9);
+        assertTrue(product.getAvailability().get("Store 1"));
+        assertFalse(product.getAvailability().get("Store 3"));
+        assertEquals(product.getLocation().getLat(), 14.202323);
+        assertEquals(product.getLocation().getLon(), 12.04995);
+        assertEquals(product.getAuthors().size(), 1);
+        assertEquals(product.getAuthors().get(0).getClass(), Author.class);
+        assertEquals(product.getAuthors().get(0).getFirstName(), "raphael");
+        assertEquals(product.getTimes()[0], "9:14");
+        assertEquals(product.getTimes()[1], "12 15");
+
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("products", Product.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("error.json"));
+
+        assertNotNull(jsonApiObject.getErrors());
+        assertEquals(jsonApiObject.getErrors().get(0).getStatus(), "403");
+        assertEquals(jsonApiObject.getErrors().get(0).getSource().getPointer(), "/data/attributes/secret-powers");
+        assertEquals(jsonApiObject.getErrors().get(0).getDetail(), "Editing secret powers is not authorized on Sundays.");
+
+        assertEquals(jsonApiObject.getErrors().get(1).getStatus(), "422");
+        assertEquals(jsonApiObject.getErrors().get(1).getId(), "1");
+        assertEquals(jsonApiObject.getErrors().get(1).getCode(), "2");
+        assertEquals(jsonApiObject.getErrors().get(1).getSource().getPointer(), "/data/attributes/volume");
+        assertEquals(jsonApiObject.getErrors().get(1).getSource().getParameter(), "/data/attributes/battery");
+        assertEquals(jsonApiObject.getErrors().get(1).getTitle(), "some title");
+        assertEquals(jsonApiObject.getErrors().get(1).getDetail(), "Volume does not, in fact, go to 11.");
+        assertEquals(jsonApiObject.getErrors().get(1).getLinks().getAbout(), "about.com");
+
+        assertEquals(jsonApiObject.getErrors().get(2).getStatus(), "500");
+        assertEquals(jsonApiObject.getErrors().get(2).getSource().getPointer(), "/data/attributes/reputation");
+        assertNull(jsonApiObject.getErrors().get(2).getSource().getParameter());
+        assertEquals(jsonApiObject.getErrors().get(2).getTitle(), "The backend responded with an error");
+        assertEquals(jsonApiObject.getErrors().get(2).getDetail(), "Reputation service not responding after three requests.");
+    }
+
+    @Test
+    public void testParseErrors() throws Exception {
+        Morpheus morpheus = new Morpheus();
+
+        List<Error> errors = morpheus.parseErrors(loadJSONFromResource("error.json"));
+
+        assertEquals(3, errors.size());
+        assertEquals("422", errors.get(1).getStatus());
+        assertEquals("about.com", errors.get(1).getLinks().getAbout());
+        assertEquals("yes", errors.get(1).getMeta().get("test-meta"));
+        assertNull(errors.get(0).getLinks());
+        assertNull(errors.get(0).getMeta());
+        assertTrue(morpheus.parseErrors(loadJSONFromResource("article.json")).isEmpty());
+
+        // data is skipped without building it, its duplicate key does not fail
+        errors = morpheus.parseErrors("{\"data\":{\"id\":\"1\",\"id\":\"2\"},\"errors\":[{\"status\":\"500\"}]}");
+        assertEquals(1, errors.size());
+        assertEquals("500", errors.get(0).getStatus());
+    }
+
+    @Test
+    public void testCreateJsonWithResourceRelationsIncluded() throws JSONException {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JSONObject checkJson = new JSONObject("{\"included\":[{\"attributes\":{\"body\":\"body\"},\"id\":\"3\",\"type\":\"comments\"},{\"attributes\":{\"body\":\"body\"},\"id\":\"3\",\"type\":\"comments\"},{\"attributes\":{\"first-name\":\"Peter\"},\"id\":\"2\",\"type\":\"people\"}],\"data\":{\"attributes\":{\"title\":\"Some title\"},\"id\":\"1\",\"type\":\"articles\",\"relationships\":{\"comments\":{\"data\":[{\"id\":\"3\",\"type\":\"comments\"},{\"id\":\"3\",\"type\":\"comments\"}]},\"author\":{\"data\":{\"id\":\"2\",\"type\":\"people\"}}}}}");
+
+        Article article = new Article();
+        article.setId("1");
+        article.setTitle("Some title");
+
+        Author author = new Author();
+        author.setId("2");
+        author.setFirstName("Peter");
+        article.setAuthor(author);
+
+        Comment comment = new Comment();
+        comment.setId("3");
+        comment.setBody("body");
+
+        ArrayList<Comment> comments = new ArrayList<>();
+        comments.add(comment);
+        comments.add(comment);
+        article.setComments(comments);
+
+        JsonApiObject jsonApiObject = new JsonApiObject();
+        jsonApiObject.setResource(article);
+
+
+        JSONObject json = new JSONObject(morpheus.createJson(jsonApiObject, true));
+
+
+        JSONAssert.assertEquals(json, checkJson, true);
+    }
+
+    @Test
+    public void testCreateJsonWithResourcesRelations() throws JSONException {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        JSONObject checkJson = new JSONObject("{\"data\":[{\"attributes\":{\"title\":\"Some title\"},\"id\":\"1\",\"type\":\"articles\"},{\"attributes\":{\"title\":\"Some title\"},\"id\":\"1\",\"type\":\"articles\"}]}");
+
+        Article article = new Article();
+        article.setId("1");
+        article.setTitle("Some title");
+
+        ArrayList<Resource> articles = new ArrayList<>();
+        articles.add(article);
+        articles.add(article);
+
+        JsonApiObject jsonApiObject = new JsonApiObject();
+        jsonApiObject.setResources(articles);
+
+
+        JSONObject json = new JSONObject(morpheus.createJson(jsonApiObject, false));
+
+
+        JSONAssert.assertEquals(json, checkJson, true);
+    }
+
+    @Test
+    public void testCreateJsonAttributes() throws JSONException {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("products", Product.class);
+
+        JSONObject checkJson = new JSONObject("{\"data\":{\"attributes\":{\"stores-availability\":{\"there\":false,\"here\":true},\"price\":10.3,\"in-stock\":10,\"location\":{\"lat\":10.3,\"lon\":9.7},\"product-name\":\"robot\",\"categories\":[\"one\",\"two\"]},\"id\":\"10203\",\"type\":\"products\"}}");
+
+        List<String> categories = new ArrayList<>();
+        categories.add("one");
+        categories.add("two");
+
+        HashMap<String, Boolean> availability = new HashMap<>();
+        availability.put("here", true);
+        availability.put("there", false);
+
+        Location location = new Location();
+        location.setLat(10.3);
+        location.setLon(9.7);
+
+        Product product = new Product();
+        product.setId("10203");
+        product.setName("robot");
+        product.setCategories(categories);
+        product.setPrice(10.3);
+        product.setInStock(10);
+        product.setAvailability(availability);
+        product.setLocation(location);
+
+        JsonApiObject jsonApiObject = new JsonApiObject();
+        jsonApiObject.setResource(product);
+
+
+        JSONObject json = new JSONObject(morpheus.createJson(jsonApiObject, false));
+
+        JSONAssert.assertEquals(json, checkJson, true);
+    }
+
+    @Test
+    public void testCreatePatchJsonWithChangedAttributes() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        morpheus.setTrackChanges(true);
+        Deserializer.registerResourceClass("products", Product.class);
+
+        JsonApiObject jsonApiObject =
+            morpheus.parse(loadJSONFromResource("product.json"));
+
+        Product product = (Product) jsonApiObject.getResources().get(0);
+        assertTrue(product.isTrackingChanges());
+        assertTrue(product.getChangedAttributes().isEmpty());
+
+        product.setName("robot");
+        product.setLocation(null);
+
+        JsonApiObject patchObject = new JsonApiObject();
+        patchObject.setResource(product);
+
+        JSONObject checkJson = new JSONObject("{\"data\":{\"attributes\":{\"product-name\":\"robot\",\"location\":null},\"id\":\"123456\",\"type\":\"products\"}}");
+        JSONObject json = new JSONObject(morpheus.createPatchJson(patchObject));
+
+        JSONAssert.assertEquals(json, checkJson, true);
+    }
+
+    @Test
+    public void testCreatePatchJsonWithChangedRelationship() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        Article article = new Article();
+        article.setId("1");
+        article.setTitle("Some title");
+        article.startTrackingChanges();
+
+        Author author = new Author();
+        author.setId("2");
+        article.setAuthor(author);
+
+        JsonApiObject jsonApiObject = new JsonApiObject();
+        jsonApiObject.setResource(article);
+
+        JSONObject checkJson = new JSONObject("{\"data\":{\"id\":\"1\",\"type\":\"articles\",\"relationships\":{\"author\":{\"data\":{\"id\":\"2\",\"type\":\"people\"}}}}}");
+        JSONObject json = new JSONObject(morpheus.createPatchJson(jsonApiObject));
+
+        JSONAssert.assertEquals(json, checkJson, true);
+    }
+
+    @Test
+    public void testCreateJsonWithSerializationCache() throws JSONException {
+        Morpheus morpheus = new Morpheus();
+        morpheus.setSerializationCacheEnabled(true);
+        Deserializer.registerResourceClass("products", Product.class);
+
+        List<String> categories = new ArrayList<>();
+        categories.add("one");
+
+        Product product = new Product();
+        product.setId("10203");
+        product.setName("robot");
+        product.setCategories(categories);
+
+        JsonApiObject jsonApiObject = new JsonApiObject();
+        jsonApiObject.setResource(product);
+
+        String json = morpheus.createJson(jsonApiObject, false);
+        assertEquals(json, morpheus.createJson(jsonApiObject, false));
+
+        product.setName("new robot");
+        JSONAssert.assertEquals(new JSONObject(morpheus.createJson(jsonApiObject, false)),
+            new JSONObject("{\"data\":{\"attributes\":{\"price\":0,\"in-stock\":0,\"product-name\":\"new robot\",\"categories\":[\"one\"]},\"id\":\"10203\",\"type\":\"products\"}}"), true);
+
+        categories.add("two");
+        JSONAssert.assertEquals(new JSONObject(morpheus.createJson(jsonApiObject, false)),
+            new JSONObject("{\"data\":{\"attributes\":{\"price\":0,\"in-stock\":0,\"product-name\":\"new robot\",\"categories\":[\"one\",\"two\"]},\"id\":\"10203\",\"type\":\"products\"}}"), true);
+    }
+
+    @Test
+    public void testCreateJsonInParallel() throws JSONException {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+
+        ArrayList<Resource> articles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Author author = new Author();
+            author.setId("author" + i);
+            author.setFirstName("Peter " + i);
+
+            Article article = new Article();
+            article.setId(String.valueOf(i));
+            article.setTitle("Title " + i);
+            article.setAuthor(author);
+            articles.add(article);
+        }
+
+        JsonApiObject jsonApiObject = new JsonApiObject();
+        jsonApiObject.setResources(articles);
+
+        String json = morpheus.createJson(jsonApiObject, true);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            morpheus.setSerializationPool(pool);
+            String parallelJson = morpheus.createJson(jsonApiObject, true);
+
+            JSONAssert.assertEquals(new JSONObject(json), new JSONObject(parallelJson), true);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCreateJsonInParallelWithSharedIncluded() throws JSONException {
+        Morpheus morpheus = new Morpheus();
+        morpheus.setSerializationCacheEnabled(true);
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+
+        Author author = new Author();
+        author.setId("author");
+        author.setFirstName("Peter");
+        ArrayList<Resource> articles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Article article = new Article();
+            article.setId(String.valueOf(i));
+            article.setAuthor(author);
+            articles.add(article);
+        }
+
+        JsonApiObject jsonApiObject = new JsonApiObject();
+        jsonApiObject.setResources(articles);
+
+        String json = morpheus.createJson(jsonApiObject, true);
+        String authorJson = ((Resource) author).getSerializedForm().getJson();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            morpheus.setSerializationPool(pool);
+            for (int i = 0; i < 20; i++) {
+                // every chunk serializes and caches the author again
+                author.markModified();
+                assertEquals(json, morpheus.createJson(jsonApiObject, true));
+                SerializedForm serializedForm = ((Resource) author).getSerializedForm();
+                assertTrue(serializedForm.isValidFor(author, "data"));
+                assertEquals(authorJson, serializedForm.getJson());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEventListener() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        final List<ParsePhase> phases = new ArrayList<>();
+        final ParseMetrics[] parseMetrics = new ParseMetrics[1];
+        morpheus.setEventListener(new EventListener() {
+            @Override
+            public void phaseEnd(ParsePhase phase, long durationNanos) {
+                phases.add(phase);
+            }
+
+            @Override
+            public void parseEnd(ParseMetrics metrics) {
+                parseMetrics[0] = metrics;
+            }
+        });
+
+        morpheus.parse(loadJSONFromResource("articles.json"));
+
+        assertEquals(Arrays.asList(ParsePhase.values()), phases);
+        ParseMetrics metrics = parseMetrics[0];
+        assertNotNull(metrics);
+        assertEquals(4, metrics.getResourceCount());
+        assertEquals(2, metrics.getRelationshipCount());
+        assertEquals(6, metrics.getAttributeCount());
+        assertTrue(metrics.getTotalNanos() >= metrics.getPhaseNanos(ParsePhase.DATA));
+    }
+
+    @Test
+    public void testParseLimitsKeepDocument() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+        String json = loadJSONFromResource("articles.json");
+
+        JsonApiObject expected = morpheus.parse(json);
+        morpheus.setParseLimits(new ParseLimits());
+        JsonApiObject limited = morpheus.parse(json);
+
+        JSONAssert.assertEquals(morpheus.createJson(expected, true), morpheus.createJson(limited, true), true);
+        assertEquals(expected.getMeta().toString(), limited.getMeta().toString());
+        assertEquals(expected.getLinks().getNext(), limited.getLinks().getNext());
+    }
+
+    @Test
+    public void testParseLimitsFail() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+        String json = loadJSONFromResource("articles.json");
+
+        ParseLimits limits = new ParseLimits();
+        limits.setMaxIncludedResources(2);
+        morpheus.setParseLimits(limits);
+        try {
+            morpheus.parse(json);
+            fail("Included limit not enforced");
+        } catch (ParseLimitExceededException e) {
+            assertTrue(e.getMessage().contains("2"));
+        }
+
+        limits = new ParseLimits();
+        limits.setMaxDepth(3);
+        morpheus.setParseLimits(limits);
+        try {
+            morpheus.parse(json);
+            fail("Depth limit not enforced");
+        } catch (ParseLimitExceededException e) {
+            assertTrue(e.getMessage().contains("Depth"));
+        }
+
+        limits = new ParseLimits();
+        limits.setMaxDocumentLength(json.length() - 1);
+        morpheus.setParseLimits(limits);
+        try {
+            morpheus.parse(json);
+            fail("Document length limit not enforced");
+        } catch (ParseLimitExceededException e) {
+            assertTrue(e.getMessage().contains("length"));
+        }
+    }
+
+    @Test
+    public void testParseLimitsDocumentLengthInBytes() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("people", Author.class);
+        String json = "{\"data\":{\"type\":\"people\",\"id\":\"9\",\"attributes\":{\"first-name\":\"J\u00fcrgen\"}}}";
+        int bytes = json.getBytes("UTF-8").length;
+
+        ParseLimits limits = new ParseLimits();
+        limits.setMaxDocumentLength(bytes);
+        morpheus.setParseLimits(limits);
+        assertEquals("J\u00fcrgen", ((Author) morpheus.parse(json).getResource()).getFirstName());
+
+        limits.setMaxDocumentLength(json.length());
+        try {
+            morpheus.parse(json);
+            fail("Document length limit not enforced in bytes");
+        } catch (ParseLimitExceededException e) {
+            assertTrue(e.getMessage().contains(String.valueOf(bytes)));
+        }
+    }
+
+    @Test
+    public void testDocumentReaderMatchesJSONObject() throws Exception {
+        String json = "{\"int\":1,\"long\":2147483648,\"big\":12345678901234567890,\"negativeZero\":-0," +
+            "\"double\":1.5,\"exponent\":1e2,\"infinite\":1e400,\"string\":\"1\",\"null\":null,\"bool\":true}";
+
+        JSONObject expected = new JSONObject(json);
+        JSONObject actual = new DocumentReader(new ParseLimits()).read(json);
+
+        assertEquals(expected.length(), actual.length());
+        for (String name : new String[]{"int", "long", "big", "double", "exponent", "infinite", "string", "null", "bool"}) {
+            assertEquals(name, expected.get(name), actual.get(name));
+        }
+        // gson reads -0 as the integer 0
+        assertEquals(0.0, ((Number) actual.get("negativeZero")).doubleValue());
+
+        try {
+            new DocumentReader(new ParseLimits()).read("{\"data\":{\"id\":\"1\",\"id\":\"2\"}}");
+            fail("Duplicate key accepted");
+        } catch (JSONException e) {
+            assertTrue(e.getMessage().contains("Duplicate key"));
+        }
+    }
+
+    @Test
+    public void testParseLimitsTruncate() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        ParseLimits limits = new ParseLimits();
+        limits.setPolicy(ParseLimits.Policy.TRUNCATE);
+        limits.setMaxIncludedResources(1);
+        limits.setMaxAttributesPerResource(2);
+        morpheus.setParseLimits(limits);
+        JsonApiObject jsonApiObject = morpheus.parse(loadJSONFromResource("articles.json"));
+
+        assertEquals(1, jsonApiObject.getIncluded().size());
+        Author author = (Author) jsonApiObject.getIncluded().get(0);
+        assertEquals("Dan", author.getFirstName());
+        assertEquals("Gebhardt", author.getLastName());
+        assertNull(author.getTwitterHandle());
+        Article article = (Article) jsonApiObject.getResources().get(0);
+        assertTrue(article.getAuthor() == author);
+    }
+
+    @Test
+    public void testParseLimitsIncludedHops() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        ParseLimits limits = new ParseLimits();
+        limits.setMaxIncludedHops(0);
+        morpheus.setParseLimits(limits);
+        JsonApiObject jsonApiObject = morpheus.parse(loadJSONFromResource("articles.json"));
+
+        Article article = (Article) jsonApiObject.getResources().get(0);
+        assertEquals(3, jsonApiObject.getIncluded().size());
+        assertEquals("9", article.getAuthor().getId());
+        assertNull(article.getAuthor().getFirstName());
+    }
+
+    @Test
+    public void testEnumLookup() throws Exception {
+        AttributeMapper attributeMapper = new AttributeMapper();
+        Morpheus morpheus = new Morpheus(attributeMapper);
+        Deserializer.registerResourceClass("Person", BasicPerson.class);
+        String json = "{\"data\":[" +
+            "{\"id\":\"1\",\"type\":\"Person\",\"attributes\":{\"gender\":\"female\"}}," +
+            "{\"id\":\"2\",\"type\":\"Person\",\"attributes\":{\"gender\":\"UNKNOWN\"}}," +
+            "{\"id\":\"3\",\"type\":\"Person\",\"attributes\":{\"gender\":\"MALE\"}}]}";
+
+        List<Resource> resources = morpheus.parse(json).getResources();
+        assertEquals(Gender.FEMALE, ((BasicPerson) resources.get(0)).getGender());
+        assertEquals(Gender.UNKNOWN, ((BasicPerson) resources.get(1)).getGender());
+        assertNull(((BasicPerson) resources.get(2)).getGender());
+
+        attributeMapper.setEnumFallback(Gender.class, Gender.UNKNOWN);
+        resources = morpheus.parse(json).getResources();
+        assertEquals(Gender.UNKNOWN, ((BasicPerson) resources.get(2)).getGender());
+    }
+
+    @Test
+    public void testPrimitiveAttributes() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("vitals", Vitals.class);
+        String json = "{\"data\":{\"id\":\"1\",\"type\":\"vitals\",\"attributes\":{" +
+            "\"recorded-at\":9007199254740993,\"heart-rate\":72.0,\"temperature\":36,\"weight\":70.5," +
+            "\"systolic\":120,\"spo2\":98,\"fasting\":true,\"note\":\"before: breakfast\"}}}";
+
+        Vitals vitals = (Vitals) morpheus.parse(json).getResource();
+        assertEquals(9007199254740993L, vitals.getRecordedAt());
+        assertEquals(72, vitals.getHeartRate());
+        assertEquals(36.0, vitals.getTemperature());
+        assertEquals(70.5f, vitals.getWeight());
+        assertEquals(120, vitals.getSystolic());
+        assertEquals(98, vitals.getSpo2());
+        assertTrue(vitals.isFasting());
+        assertEquals("before: breakfast", vitals.getNote());
+    }
+
+    @Test
+    public void testArrayAttributes() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("vitals", Vitals.class);
+        String json = "{\"data\":{\"id\":\"1\",\"type\":\"vitals\",\"attributes\":{" +
+            "\"heart-rates\":[72,75.0,80],\"timestamps\":[9007199254740993,1]," +
+            "\"temperatures\":[36.5,37],\"alerts\":[true,false]," +
+            "\"oxygen-samples\":[98,97,null],\"readings\":[[1.5,2],[3]]}}}";
+
+        Vitals vitals = (Vitals) morpheus.parse(json).getResource();
+        assertTrue(Arrays.equals(new int[]{72, 75, 80}, vitals.getHeartRates()));
+        assertTrue(Arrays.equals(new long[]{9007199254740993L, 1}, vitals.getTimestamps()));
+        assertTrue(Arrays.equals(new double[]{36.5, 37}, vitals.getTemperatures()));
+        assertTrue(Arrays.equals(new boolean[]{true, false}, vitals.getAlerts()));
+        assertEquals(Arrays.asList(98, 97, null), vitals.getOxygenSamples());
+        assertEquals(Arrays.asList(Arrays.asList(1.5, 2.0), Arrays.asList(3.0)), vitals.getReadings());
+    }
+
+    @Test
+    public void testObjectAttributes() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("vitals", Vitals.class);
+        String json = "{\"data\":{\"id\":\"1\",\"type\":\"vitals\",\"attributes\":{" +
+            "\"thresholds\":{\"heart-rate\":120,\"recorded-at\":9007199254740993}," +
+            "\"location\":{\"lat\":48.2,\"lon\":16.4}," +
+            "\"locations\":[{\"lat\":1,\"lon\":2}]}}}";
+
+        Vitals vitals = (Vitals) morpheus.parse(json).getResource();
+        assertEquals(Long.valueOf(120), vitals.getThresholds().get("heart-rate"));
+        assertEquals(Long.valueOf(9007199254740993L), vitals.getThresholds().get("recorded-at"));
+        assertEquals(48.2, vitals.getLocation().getLat());
+        assertEquals(16.4, vitals.getLocation().getLon());
+        assertEquals(2.0, vitals.getLocations().get(0).getLon());
+    }
+
+    @Test
+    public void testStringPool() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+        String json = "{\"data\":[" +
+            "{\"id\":\"1\",\"type\":\"articles\",\"attributes\":{\"title\":\"News\"}," +
+            "\"relationships\":{\"author\":{\"data\":{\"id\":\"9\",\"type\":\"people\"}}}}," +
+            "{\"id\":\"2\",\"type\":\"articles\",\"attributes\":{\"title\":\"News\"}," +
+            "\"relationships\":{\"author\":{\"data\":{\"id\":\"9\",\"type\":\"people\"}}}}]}";
+
+        List<Resource> resources = morpheus.parse(json).getResources();
+        Article first = (Article) resources.get(0);
+        Article second = (Article) resources.get(1);
+        assertNotSame(first.getTitle(), second.getTitle());
+        assertNotSame(first.getAuthor().getId(), second.getAuthor().getId());
+
+        StringPool stringPool = new StringPool();
+        stringPool.setAttributes("title");
+        morpheus.setStringPool(stringPool);
+        resources = morpheus.parse(json).getResources();
+        first = (Article) resources.get(0);
+        second = (Article) resources.get(1);
+        assertEquals("News", first.getTitle());
+        assertSame(first.getTitle(), second.getTitle());
+        assertEquals("9", first.getAuthor().getId());
+        assertSame(first.getAuthor().getId(), second.getAuthor().getId());
+        assertSame(first.getType(), second.getType());
+        assertSame(Deserializer.getRegisteredTypeName(new String("people")), first.getAuthor().getType());
+    }
+
+    @Test
+    public void testNumericIds() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("vitals", Vitals.class);
+        Deserializer.registerResourceClass("patients", Patient.class);
+        String json = "{\"data\":[" +
+            "{\"id\":\"1\",\"type\":\"vitals\",\"relationships\":{\"patient\":{\"data\":{\"id\":\"5\",\"type\":\"patients\"}}}}," +
+            "{\"id\":\"2\",\"type\":\"vitals\",\"relationships\":{\"patient\":{\"data\":{\"id\":\"007\",\"type\":\"patients\"}}}}," +
+            "{\"id\":3,\"type\":\"vitals\",\"relationships\":{\"patient\":{\"data\":{\"id\":\"6\",\"type\":\"patients\"}}}}]," +
+            "\"included\":[" +
+            "{\"id\":\"5\",\"type\":\"patients\",\"attributes\":{\"name\":\"Ann\"}}," +
+            "{\"id\":\"007\",\"type\":\"patients\",\"attributes\":{\"name\":\"Bond\"}}]}";
+
+        List<Resource> resources = morpheus.parse(json).getResources();
+        Vitals first = (Vitals) resources.get(0);
+        assertTrue(((Resource) first).hasNumericId());
+        Field idField = Resource.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        assertEquals("1", idField.get(first));
+        assertEquals("1", first.getId());
+        assertEquals("5", first.getPatient().getId());
+        assertEquals("Ann", first.getPatient().getName());
+
+        Vitals second = (Vitals) resources.get(1);
+        assertFalse(((Resource) second.getPatient()).hasNumericId());
+        assertEquals("007", second.getPatient().getId());
+        assertEquals("Bond", second.getPatient().getName());
+
+        Vitals third = (Vitals) resources.get(2);
+        assertEquals("3", third.getId());
+        assertEquals("6", third.getPatient().getId());
+        assertNull(third.getPatient().getName());
+
+        Patient patient = new Patient();
+        patient.setId("5");
+        assertEquals(first.getPatient(), patient);
+    }
+
+    @Test
+    public void testCyclicIncludes() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("vitals", Vitals.class);
+        Deserializer.registerResourceClass("patients", Patient.class);
+        String json = "{\"data\":{\"id\":\"1\",\"type\":\"vitals\"," +
+            "\"relationships\":{\"patient\":{\"data\":{\"id\":\"5\",\"type\":\"patients\"}}}}," +
+            "\"included\":[" +
+            "{\"id\":\"5\",\"type\":\"patients\",\"relationships\":{\"vitals\":{\"data\":[" +
+            "{\"id\":\"2\",\"type\":\"vitals\"},{\"id\":\"3\",\"type\":\"vitals\"}]}}}," +
+            "{\"id\":\"2\",\"type\":\"vitals\",\"attributes\":{\"heart-rate\":60}," +
+            "\"relationships\":{\"patient\":{\"data\":{\"id\":\"5\",\"type\":\"patients\"}}}}]}";
+
+        Vitals vitals = (Vitals) morpheus.parse(json).getResource();
+        Patient patient = vitals.getPatient();
+        assertEquals(2, patient.getVitals().size());
+        Vitals included = patient.getVitals().get(0);
+        assertEquals(60, included.getHeartRate());
+        assertSame(patient, included.getPatient());
+        assertEquals("3", patient.getVitals().get(1).getId());
+    }
+
+    @Test
+    public void testIdentifiersOnly() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        ParseOptions options = new ParseOptions();
+        options.setIdentifiersOnly(true);
+        JsonApiObject jsonApiObject = morpheus.parse(loadJSONFromResource("articles.json"), options);
+
+        Article article = (Article) jsonApiObject.getResources().get(0);
+        assertEquals("JSON API paints my bikeshed!", article.getTitle());
+        assertNull(article.getAuthor());
+        assertNull(article.getComments());
+        assertEquals(new ResourceIdentifier("people", "9"), article.getRelationshipIdentifier("author"));
+        assertEquals(Arrays.asList(new ResourceIdentifier("comments", "5"), new ResourceIdentifier("comments", "12")),
+            article.getRelationshipIdentifiers("comments"));
+        assertNull(jsonApiObject.getIncluded());
+
+        options.setIncludeIncluded(true);
+        jsonApiObject = morpheus.parse(loadJSONFromResource("articles.json"), options);
+        assertEquals(3, jsonApiObject.getIncluded().size());
+        assertNull(((Article) jsonApiObject.getResources().get(0)).getAuthor());
+    }
+
+    @Test
+    public void testResourceIdentifier() throws Exception {
+        assertEquals(new ResourceIdentifier("people", null), new ResourceIdentifier("people", null));
+        assertEquals(new ResourceIdentifier("people", null).hashCode(), new ResourceIdentifier("people", null).hashCode());
+        assertFalse(new ResourceIdentifier("people", "9").equals(new ResourceIdentifier("people", null)));
+
+        try {
+            new ResourceIdentifier(null, "9");
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("type must not be null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testProjection() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        ParseOptions options = new ParseOptions();
+        options.setProjection("articles", "author");
+        JsonApiObject jsonApiObject = morpheus.parse(loadJSONFromResource("articles.json"), options);
+
+        Article article = (Article) jsonApiObject.getResources().get(0);
+        assertNull(article.getTitle());
+        assertNull(article.getComments());
+        assertEquals("9", article.getAuthor().getId());
+        assertNull(article.getAuthor().getFirstName());
+        assertTrue(jsonApiObject.getIncluded().isEmpty());
+
+        options.setProjection("people", "first-name");
+        jsonApiObject = morpheus.parse(loadJSONFromResource("articles.json"), options);
+
+        article = (Article) jsonApiObject.getResources().get(0);
+        assertEquals(1, jsonApiObject.getIncluded().size());
+        assertEquals("Dan", article.getAuthor().getFirstName());
+        assertNull(article.getAuthor().getLastName());
+    }
+
+    @Test
+    public void testSkipUnregisteredTypes() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+        final ParseMetrics[] parseMetrics = new ParseMetrics[1];
+        morpheus.setEventListener(new EventListener() {
+            @Override
+            public void parseEnd(ParseMetrics metrics) {
+                parseMetrics[0] = metrics;
+            }
+        });
+
+        String analytics = "{\"id\":\"a\",\"attributes\":{\"views\":[1,2,3],\"city\":\"Z\u00fcrich {}\"},\"type\":\"analytics\"}";
+        String comment = "{\"type\":\"comments\",\n\"id\":\"5\",\"attributes\":{\"body\":\"First!\"}}";
+        String json = "{\"data\":[{\"type\":\"articles\",\"id\":\"1\",\"attributes\":{\"title\":\"Title\"}}, " +
+            analytics + "],\n\"included\":[" + comment + ", {\"type\":\"people\",\"id\":\"9\"}]}";
+
+        ParseOptions options = new ParseOptions();
+        options.setSkipUnregisteredTypes(true);
+        options.setIgnoredTypes("comments");
+        JsonApiObject jsonApiObject = morpheus.parse(json, options);
+
+        assertEquals(1, jsonApiObject.getResources().size());
+        assertEquals("Title", ((Article) jsonApiObject.getResources().get(0)).getTitle());
+        assertEquals(1, jsonApiObject.getIncluded().size());
+        assertEquals(2, parseMetrics[0].getSkippedResourceCount());
+        assertEquals(analytics.getBytes("UTF-8").length + comment.getBytes("UTF-8").length,
+            parseMetrics[0].getSkippedBytes());
+    }
+
+    @Test
+    public void testSkippedBytesAtDocumentStart() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        final ParseMetrics[] parseMetrics = new ParseMetrics[1];
+        morpheus.setEventListener(new EventListener() {
+            @Override
+            public void parseEnd(ParseMetrics metrics) {
+                parseMetrics[0] = metrics;
+            }
+        });
+        ParseOptions options = new ParseOptions();
+        options.setSkipUnregisteredTypes(true);
+
+        String[][] documents = {
+            {"{\"data\":", "{\"type\":\"analytics\"}", "}"},
+            {"{data:[", "{type:analytics,id:1}", "]}"},
+            {"\n{\"\":{},\"data\":", "{\"type\":\"analytics\",\"id\":\"1\"}", "}"},
+            {"{\"\":{\"\":{}},\"data\":[", "{\"id\":\"{\",\"type\":\"analytics\"}", "]}"},
+        };
+        for (String[] document : documents) {
+            morpheus.parse(document[0] + document[1] + document[2], options);
+
+            assertEquals(1, parseMetrics[0].getSkippedResourceCount());
+            assertEquals(document[1], document[1].length(), parseMetrics[0].getSkippedBytes());
+        }
+    }
+
+    @Test
+    public void testParseAll() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+
+        String first = "{\"data\":{\"type\":\"articles\",\"id\":\"1\",\"attributes\":{\"title\":\"Title\"}," +
+            "\"relationships\":{\"author\":{\"data\":{\"type\":\"people\",\"id\":\"9\"}}}}}";
+        String second = "{\"data\":{\"type\":\"articles\",\"id\":\"1\",\"attributes\":{\"title\":\"Changed\"}}}";
+        String third = "{\"data\":{\"type\":\"articles\",\"id\":\"2\"}}";
+
+        List<JsonApiObject> jsonApiObjects = morpheus.parseAll(Arrays.asList(
+            new StringReader(first), new StringReader(second), new StringReader(third)));
+
+        assertEquals(3, jsonApiObjects.size());
+        assertNotSame(jsonApiObjects.get(0).getResource(), jsonApiObjects.get(1).getResource());
+        assertEquals("2", jsonApiObjects.get(2).getResource().getId());
+
+        ParseOptions options = new ParseOptions();
+        options.setMergeResources(true);
+        jsonApiObjects = morpheus.parseLines(new StringReader(first + "\n\n" + second + "\r\n" + third + "\n"), options);
+
+        assertEquals(3, jsonApiObjects.size());
+        Article article = (Article) jsonApiObjects.get(0).getResource();
+        assertSame(article, jsonApiObjects.get(1).getResource());
+        assertEquals("Changed", article.getTitle());
+        assertEquals("9", article.getAuthor().getId());
+        assertNotSame(article, jsonApiObjects.get(2).getResource());
+    }
+
+    @Test
+    public void testAtomicOperations() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("comments", Comment.class);
+
+        Comment comment = new Comment();
+        comment.setLocalId("c1");
+        comment.setBody("First!");
+        Article article = new Article();
+        article.setId("1");
+        article.setTitle("Title");
+        article.setComments(new ArrayList<>(Arrays.asList(comment)));
+
+        String json = morpheus.createOperationsJson(Arrays.asList(Operation.add(comment), Operation.update(article),
+            Operation.remove(new ResourceIdentifier("people", "9"))));
+
+        JSONArray operationArray = new JSONObject(json).getJSONArray("atomic:operations");
+        assertEquals(3, operationArray.length());
+        assertEquals("add", operationArray.getJSONObject(0).getString("op"));
+        assertEquals("c1", operationArray.getJSONObject(0).getJSONObject("data").getString("lid"));
+        assertFalse(operationArray.getJSONObject(0).getJSONObject("data").has("id"));
+        assertEquals("c1", operationArray.getJSONObject(1).getJSONObject("data").getJSONObject("relationships")
+            .getJSONObject("comments").getJSONArray("data").getJSONObject(0).getString("lid"));
+        assertEquals("9", operationArray.getJSONObject(2).getJSONObject("ref").getString("id"));
+
+        List<Operation> operations = morpheus.parse(json).getOperations();
+        assertEquals(3, operations.size());
+        assertEquals(Operation.Code.ADD, operations.get(0).getCode());
+        assertEquals("c1", operations.get(0).getResource().getLocalId());
+        assertEquals("First!", ((Comment) operations.get(0).getResource()).getBody());
+        assertEquals(new ResourceIdentifier("people", "9"), operations.get(2).getRef());
+
+        String results = "{\"atomic:results\":[{\"data\":{\"type\":\"comments\",\"id\":\"5\",\"lid\":\"c1\"," +
+            "\"attributes\":{\"body\":\"First!\"}}},{\"data\":{\"type\":\"articles\",\"id\":\"1\"}},{}]}";
+        JsonApiObject jsonApiObject = morpheus.parse(results);
+
+        assertEquals(3, jsonApiObject.getResults().size());
+        assertEquals("5", jsonApiObject.getResults().get(0).getResource().getId());
+        assertEquals("First!", ((Comment) jsonApiObject.getResults().get(0).getResource()).getBody());
+        assertEquals("1", jsonApiObject.getResults().get(1).getResource().getId());
+        assertNull(jsonApiObject.getResults().get(2).getResource());
+    }
+
+    @Test
+    public void testResourcePool() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        ResourcePool pool = new ResourcePool();
+        morpheus.setResourcePool(pool);
+
+        String json = "{\"data\":[{\"type\":\"articles\",\"id\":\"1\",\"attributes\":{\"title\":\"One\"}," +
+            "\"relationships\":{\"author\":{\"data\":{\"type\":\"people\",\"id\":\"9\"}}}}," +
+            "{\"type\":\"articles\",\"id\":\"2\",\"attributes\":{\"title\":\"Two\"}}]}";
+        List<Resource> previous = morpheus.parse(json).getResources();
+
+        pool.putAll(previous);
+        json = "{\"data\":[{\"type\":\"articles\",\"id\":\"1\"}]}";
+        List<Resource> next = morpheus.parse(json).getResources();
+
+        Article article = (Article) next.get(0);
+        assertSame(previous.get(0), article);
+        assertNull(article.getTitle());
+        assertNull(article.getAuthor());
+
+        pool.recycleUnused();
+        json = "{\"data\":[{\"type\":\"articles\",\"id\":\"3\",\"attributes\":{\"title\":\"Three\"}}]}";
+        article = (Article) morpheus.parse(json).getResources().get(0);
+        assertSame(previous.get(1), article);
+        assertEquals("3", article.getId());
+        assertEquals("Three", article.getTitle());
+
+        article = (Article) morpheus.parse(json).getResources().get(0);
+        assertNotSame(previous.get(1), article);
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        Morpheus morpheus = new Morpheus();
+        Deserializer.registerResourceClass("articles", Article.class);
+        Deserializer.registerResourceClass("people", Author.class);
+        Deserializer.registerResourceClass("vitals", Vitals.class);
+
+        Article article = (Article) morpheus.parse(loadJSONFromResource("articles.json")).getResources().get(0);
+        List<Comment> comments = article.getComments();
+        String json = "{\"data\":{\"type\":\"articles\",\"id\":\"" + article.getId() + "\"," +
+            "\"attributes\":{\"title\":\"Changed\"},\"relationships\":{\"author\":{\"data\":null}}}}";
+
+        JsonApiObject jsonApiObject = morpheus.merge(json, article);
+
+        assertSame(article, jsonApiObject.getResource());
+        assertEquals("Changed", article.getTitle());
+        assertNull(article.getAuthor());
+        assertSame(comments, article.getComments());
+
+        Vitals vitals = new Vitals();
+        vitals.setId("3");
+        vitals.setType("vitals");
+        json = "{\"data\":{\"type\":\"vitals\",\"id\":\"3\",\"attributes\":{\"heart-rate\":60,\"note\":\"ok\"}}}";
+        morpheus.merge(json, vitals);
+        json = "{\"data\":{\"type\":\"vitals\",\"id\":\"3\",\"attributes\":{\"heart-rate\":null}}}";
+        morpheus.merge(json, vitals);
+
+        assertEquals(0, vitals.getHeartRate());
+        assertEquals("ok", vitals.getNote());
+    }
+
+    // helper
+
+    private String loadJSONFromResource(String fileName) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(MorpheusMappingTests.class.getClassLoader().getResourceAsStream(fileName)));
+        StringBuilder sb = new StringBuilder();
+        String line = null;
+        while ((line = reader.readLine()) != null) {
+            sb.append(line);
+        }
+        return sb.toString();
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package at.rags.morpheus;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -34,6 +35,11 @@ public class MorpheusUnitTest {
         Deserializer.setRegisteredClasses(mockMap);
     }
 
+    @After
+    public void tearDown() {
+        Deserializer.setRegisteredClasses(new HashMap<String, Class>());
+    }
+
     @Test
     public void testInit() throws Exception {
         Morpheus morpheus = new Morpheus();
@@ -1,8 +1,9 @@
 package at.rags.morpheus;
 
-import android.annotation.TargetApi;
-import android.os.Build;
-import android.util.ArrayMap;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.SerializedName;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -15,10 +16,12 @@ import java.util.Map;
 
 import at.rags.morpheus.resources.Article;
 import at.rags.morpheus.resources.Author;
+import at.rags.morpheus.testresources.ChildArticle;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
 
 /**
  * Created by raphaelseher on 16/09/16.
@@ -32,7 +35,6 @@ public class SerializerUnitTest {
         serializer = new Serializer();
     }
 
-    @TargetApi(Build.VERSION_CODES.KITKAT)
     @Test
     public void testGetFieldsAsDictionary() {
         Article article = new Article();
@@ -41,7 +43,7 @@ public class SerializerUnitTest {
         ArrayList<String> tags = new ArrayList<String>();
         tags.add("tag1");
         article.setTags(tags);
-        ArrayMap<String, String> testmap = new ArrayMap<>();
+        HashMap<String, String> testmap = new HashMap<>();
         testmap.put("key", "value");
         article.setMap(testmap);
         article.setVersion(1);
@@ -96,4 +98,43 @@ public class SerializerUnitTest {
         assertEquals(output.toString(), checkMap.toString());
     }
 
+    @Test
+    public void testResourceSerializerWithParentFields() {
+        Gson gson = new GsonBuilder()
+            .registerTypeAdapter(ChildArticle.class, new Resource.ResourceSerializer<ChildArticle>())
+            .create();
+
+        ChildArticle childArticle = new ChildArticle();
+        childArticle.setId("1");
+        childArticle.setType("child_article");
+        childArticle.setTitle("title");
+
+        JsonObject json = gson.toJsonTree(childArticle).getAsJsonObject();
+
+        assertEquals("1", json.get("id").getAsString());
+        assertEquals("child_article", json.get("type").getAsString());
+        assertEquals("title", json.get("title").getAsString());
+        assertEquals(0, json.get("child_id").getAsInt());
+        assertTrue(!json.has("child"));
+    }
+
+    @Test
+    public void testResourceSerializerWithShadowedParentField() {
+        Gson gson = new GsonBuilder()
+            .registerTypeAdapter(ShadowingArticle.class, new Resource.ResourceSerializer<ShadowingArticle>())
+            .create();
+
+        ShadowingArticle article = new ShadowingArticle();
+        article.setTitle("parent");
+        article.shadowingTitle = "child";
+
+        JsonObject json = gson.toJsonTree(article).getAsJsonObject();
+
+        assertEquals("child", json.get("title").getAsString());
+    }
+
+    private static class ShadowingArticle extends ChildArticle {
+        @SerializedName("title")
+        private String shadowingTitle;
+    }
 }
@@ -1,9 +1,8 @@
 package at.rags.morpheus.resources;
 
-import android.util.ArrayMap;
-
 import com.google.gson.annotations.SerializedName;
 
+import java.util.HashMap;
 import java.util.List;
 
 import at.rags.morpheus.Resource;
@@ -15,7 +14,7 @@ public class Article extends Resource {
     @SerializedName("public")
     private boolean publicStatus;
     private List<String> tags;
-    private ArrayMap<String, String> map;
+    private HashMap<String, String> map;
     private int version;
     private double price;
 
@@ -67,11 +66,11 @@ public class Article extends Resource {
         this.price = price;
     }
 
-    public ArrayMap<String, String> getMap() {
+    public HashMap<String, String> getMap() {
         return map;
     }
 
-    public void setMap(ArrayMap<String, String> map) {
+    public void setMap(HashMap<String, String> map) {
         this.map = map;
     }
 
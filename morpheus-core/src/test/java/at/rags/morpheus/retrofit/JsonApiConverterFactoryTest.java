@@ -0,0 +1,134 @@
+package at.rags.morpheus.retrofit;
+
+import org.json.JSONException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+import at.rags.morpheus.Error;
+import at.rags.morpheus.ParseLimits;
+import at.rags.morpheus.exceptions.ParseLimitExceededException;
+import at.rags.morpheus.testresources.Author;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.http.GET;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonApiConverterFactoryTest {
+
+    private static final String JSON = "{\"data\":{\"type\":\"people\",\"id\":\"9\","
+        + "\"attributes\":{\"first-name\":\"Dan\"}}}";
+
+    interface Service {
+        @GET("people/{id}")
+        Author getAuthor();
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        JsonApiConverterFactory factory = JsonApiConverterFactory.create(Author.class);
+        HistogramConverterMetrics metrics = new HistogramConverterMetrics();
+        factory.setMetrics(metrics);
+        Annotation[] annotations = Service.class.getDeclaredMethod("getAuthor").getAnnotations();
+
+        Converter<ResponseBody, ?> converter = factory.responseBodyConverter(Author.class, annotations, null);
+        Object author = converter.convert(ResponseBody.create(MediaType.parse("application/vnd.api+json"), JSON));
+        converter.convert(ResponseBody.create(MediaType.parse("application/vnd.api+json"), JSON));
+
+        assertTrue(author instanceof Author);
+        assertEquals("Dan", ((Author) author).getFirstName());
+        assertEquals(1, metrics.getKeys().size());
+        assertEquals(2, metrics.getParseLatency("GET people/{id}").getCount());
+        assertEquals(2, metrics.getReadLatency("GET people/{id}").getCount());
+        assertEquals(JSON.length(), metrics.getBodyBytes("GET people/{id}").getMax());
+    }
+
+    @Test
+    public void testMetricsSetAfterConverterCreated() throws Exception {
+        JsonApiConverterFactory factory = JsonApiConverterFactory.create(Author.class);
+        Annotation[] annotations = Service.class.getDeclaredMethod("getAuthor").getAnnotations();
+        Converter<ResponseBody, ?> converter = factory.responseBodyConverter(Author.class, annotations, null);
+        converter.convert(ResponseBody.create(MediaType.parse("application/vnd.api+json"), JSON));
+
+        HistogramConverterMetrics metrics = new HistogramConverterMetrics();
+        factory.setMetrics(metrics);
+        converter.convert(ResponseBody.create(MediaType.parse("application/vnd.api+json"), JSON));
+        assertEquals(1, metrics.getParseLatency("GET people/{id}").getCount());
+
+        factory.setMetrics(null);
+        converter.convert(ResponseBody.create(MediaType.parse("application/vnd.api+json"), JSON));
+        assertEquals(1, metrics.getParseLatency("GET people/{id}").getCount());
+    }
+
+    @Test
+    public void testParseLimits() throws Exception {
+        JsonApiConverterFactory factory = JsonApiConverterFactory.create(Author.class);
+        ParseLimits limits = new ParseLimits();
+        limits.setMaxDocumentLength(JSON.length() - 1);
+        factory.setParseLimits(limits);
+        Converter<ResponseBody, ?> converter = factory.responseBodyConverter(Author.class, new Annotation[0], null);
+
+        try {
+            converter.convert(ResponseBody.create(MediaType.parse("application/vnd.api+json"), JSON));
+            fail("Document length limit not enforced");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof ParseLimitExceededException);
+        }
+
+        limits.setMaxDocumentLength(ParseLimits.UNLIMITED);
+        limits.setMaxAttributesPerResource(0);
+        try {
+            converter.convert(ResponseBody.create(MediaType.parse("application/vnd.api+json"), JSON));
+            fail("Attribute limit not enforced");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof ParseLimitExceededException);
+        }
+    }
+
+    @Test
+    public void testErrorBodyConverter() throws Exception {
+        JsonApiConverterFactory factory = JsonApiConverterFactory.create(Author.class);
+        String json = "{\"errors\":[{\"status\":\"422\",\"title\":\"invalid\"}]}";
+
+        List<Error> errors = factory.errorBodyConverter()
+            .convert(ResponseBody.create(MediaType.parse("application/vnd.api+json"), json));
+
+        assertEquals(1, errors.size());
+        assertEquals("422", errors.get(0).getStatus());
+        assertEquals("invalid", errors.get(0).getTitle());
+    }
+
+    @Test
+    public void testErrorBodyConverterMalformedBody() throws Exception {
+        JsonApiConverterFactory factory = JsonApiConverterFactory.create(Author.class);
+
+        try {
+            factory.errorBodyConverter().convert(ResponseBody.create(MediaType.parse("text/html"), "<html>"));
+            fail("Malformed body not rejected");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof JSONException);
+        }
+    }
+
+    @Test
+    public void testHistogramQuantiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000000, histogram.getMax());
+        long p50 = histogram.getValueAtQuantile(0.5);
+        long p99 = histogram.getValueAtQuantile(0.99);
+        assertTrue(p50 >= 500000 && p50 <= 500000 * 1.13);
+        assertTrue(p99 >= 990000 && p99 <= 1000000);
+        assertEquals(0, new Histogram().getValueAtQuantile(0.5));
+    }
+}
@@ -0,0 +1,25 @@
+package at.rags.morpheus.testresources;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+import at.rags.morpheus.Resource;
+import at.rags.morpheus.annotations.NumericId;
+import at.rags.morpheus.annotations.Relationship;
+
+@NumericId
+public class Patient extends Resource {
+    @SerializedName("name")
+    private String name;
+    @Relationship("vitals")
+    private List<Vitals> vitals;
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Vitals> getVitals() {
+        return vitals;
+    }
+}
@@ -0,0 +1,109 @@
+package at.rags.morpheus.testresources;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.HashMap;
+import java.util.List;
+
+import at.rags.morpheus.Resource;
+import at.rags.morpheus.annotations.NumericId;
+import at.rags.morpheus.annotations.Relationship;
+
+@NumericId
+public class Vitals extends Resource {
+    @SerializedName("recorded-at")
+    private long recordedAt;
+    @SerializedName("heart-rate")
+    private int heartRate;
+    private double temperature;
+    private float weight;
+    private short systolic;
+    private byte spo2;
+    private boolean fasting;
+    private String note;
+    @SerializedName("heart-rates")
+    private int[] heartRates;
+    private long[] timestamps;
+    private double[] temperatures;
+    private boolean[] alerts;
+    @SerializedName("oxygen-samples")
+    private List<Integer> oxygenSamples;
+    private List<List<Double>> readings;
+    private HashMap<String, Long> thresholds;
+    private Location location;
+    private List<Location> locations;
+    @Relationship("patient")
+    private Patient patient;
+
+    public long getRecordedAt() {
+        return recordedAt;
+    }
+
+    public int getHeartRate() {
+        return heartRate;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public float getWeight() {
+        return weight;
+    }
+
+    public short getSystolic() {
+        return systolic;
+    }
+
+    public byte getSpo2() {
+        return spo2;
+    }
+
+    public boolean isFasting() {
+        return fasting;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public int[] getHeartRates() {
+        return heartRates;
+    }
+
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public double[] getTemperatures() {
+        return temperatures;
+    }
+
+    public boolean[] getAlerts() {
+        return alerts;
+    }
+
+    public List<Integer> getOxygenSamples() {
+        return oxygenSamples;
+    }
+
+    public List<List<Double>> getReadings() {
+        return readings;
+    }
+
+    public HashMap<String, Long> getThresholds() {
+        return thresholds;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public List<Location> getLocations() {
+        return locations;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+}
@@ -0,0 +1,30 @@
+package at.rags.morpheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Matching of the relationships of one resource to included resources.
+ */
+@Name("at.rags.morpheus.IncludedMatch")
+@Label("Morpheus Included Match")
+@Category("Morpheus")
+@Description("Matching of the relationships of a resource to included resources")
+@StackTrace(false)
+class IncludedMatchEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Relations")
+    int relationCount;
+
+    @Label("Matched")
+    int matchedCount;
+
+    @Label("Included")
+    int includedCount;
+}
@@ -0,0 +1,126 @@
+package at.rags.morpheus.jfr;
+
+import at.rags.morpheus.EventListener;
+import at.rags.morpheus.ParseMetrics;
+import at.rags.morpheus.ParsePhase;
+
+/**
+ * {@link EventListener} emitting Java Flight Recorder events for parsing, serializing, every
+ * resource of data and included and the matching of relationships to included resources.
+ * <p>
+ * Events are only created while a recording has them enabled, otherwise every callback returns
+ * right away.
+ *
+ * <pre>
+ * {@code
+ *  morpheus.setEventListener(new JfrEventListener());
+ * }
+ * </pre>
+ */
+public class JfrEventListener extends EventListener {
+
+    private final ThreadLocal<ParseEvent> parseEvent = new ThreadLocal<>();
+    private final ThreadLocal<ResourceEvent> resourceEvent = new ThreadLocal<>();
+    private final ThreadLocal<IncludedMatchEvent> includedMatchEvent = new ThreadLocal<>();
+    private final ThreadLocal<SerializeEvent> serializeEvent = new ThreadLocal<>();
+
+    @Override
+    public void parseStart() {
+        ParseEvent event = new ParseEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            parseEvent.set(event);
+        }
+    }
+
+    @Override
+    public void parseEnd(ParseMetrics metrics) {
+        commitParse(metrics, false);
+    }
+
+    @Override
+    public void parseFailed(ParseMetrics metrics, Exception exception) {
+        commitParse(metrics, true);
+    }
+
+    @Override
+    public void resourceStart(String type) {
+        ResourceEvent event = new ResourceEvent();
+        if (event.isEnabled()) {
+            event.type = type;
+            event.begin();
+            resourceEvent.set(event);
+        }
+    }
+
+    @Override
+    public void resourceEnd(String type) {
+        ResourceEvent event = resourceEvent.get();
+        if (event != null) {
+            resourceEvent.remove();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void includedMatchStart(String type) {
+        IncludedMatchEvent event = new IncludedMatchEvent();
+        if (event.isEnabled()) {
+            event.type = type;
+            event.begin();
+            includedMatchEvent.set(event);
+        }
+    }
+
+    @Override
+    public void includedMatchEnd(String type, int relationCount, int matchedCount, int includedCount) {
+        IncludedMatchEvent event = includedMatchEvent.get();
+        if (event != null) {
+            includedMatchEvent.remove();
+            event.relationCount = relationCount;
+            event.matchedCount = matchedCount;
+            event.includedCount = includedCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void serializeStart() {
+        SerializeEvent event = new SerializeEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            serializeEvent.set(event);
+        }
+    }
+
+    @Override
+    public void serializeEnd(int resourceCount, int length) {
+        SerializeEvent event = serializeEvent.get();
+        if (event != null) {
+            serializeEvent.remove();
+            event.resourceCount = resourceCount;
+            event.outputLength = length;
+            event.commit();
+        }
+    }
+
+    private void commitParse(ParseMetrics metrics, boolean failed) {
+        ParseEvent event = parseEvent.get();
+        if (event == null) {
+            return;
+        }
+        parseEvent.remove();
+        event.inputLength = metrics.getInputLength();
+        event.resourceCount = metrics.getResourceCount();
+        event.relationshipCount = metrics.getRelationshipCount();
+        event.attributeCount = metrics.getAttributeCount();
+        event.skippedResourceCount = metrics.getSkippedResourceCount();
+        event.skippedBytes = metrics.getSkippedBytes();
+        event.failed = failed;
+        event.tokenizeDuration = metrics.getPhaseNanos(ParsePhase.TOKENIZE);
+        event.includedDuration = metrics.getPhaseNanos(ParsePhase.INCLUDED);
+        event.includedRelationshipsDuration = metrics.getPhaseNanos(ParsePhase.INCLUDED_RELATIONSHIPS);
+        event.dataDuration = metrics.getPhaseNanos(ParsePhase.DATA);
+        event.commit();
+    }
+}
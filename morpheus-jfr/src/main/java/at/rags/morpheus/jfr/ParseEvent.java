@@ -0,0 +1,60 @@
+package at.rags.morpheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One call of Morpheus.parse.
+ */
+@Name("at.rags.morpheus.Parse")
+@Label("Morpheus Parse")
+@Category("Morpheus")
+@Description("Parse of a json:api document")
+class ParseEvent extends jdk.jfr.Event {
+
+    @Label("Input Length")
+    @Description("Length of the json string in characters")
+    int inputLength;
+
+    @Label("Resources")
+    @Description("Resources created from data and included")
+    int resourceCount;
+
+    @Label("Relationships")
+    int relationshipCount;
+
+    @Label("Attributes")
+    int attributeCount;
+
+    @Label("Skipped Resources")
+    @Description("Resources skipped by their type while tokenizing")
+    int skippedResourceCount;
+
+    @Label("Skipped Bytes")
+    @DataAmount
+    @Description("UTF-8 bytes of the skipped resources")
+    int skippedBytes;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Tokenize")
+    @Timespan(Timespan.NANOSECONDS)
+    long tokenizeDuration;
+
+    @Label("Included")
+    @Timespan(Timespan.NANOSECONDS)
+    long includedDuration;
+
+    @Label("Included Relationships")
+    @Timespan(Timespan.NANOSECONDS)
+    long includedRelationshipsDuration;
+
+    @Label("Data")
+    @Timespan(Timespan.NANOSECONDS)
+    long dataDuration;
+}
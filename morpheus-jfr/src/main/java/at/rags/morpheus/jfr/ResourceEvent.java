@@ -0,0 +1,21 @@
+package at.rags.morpheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Creation and mapping of one resource of data or included.
+ */
+@Name("at.rags.morpheus.Resource")
+@Label("Morpheus Resource")
+@Category("Morpheus")
+@Description("Creation and mapping of a resource of data or included")
+@StackTrace(false)
+class ResourceEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    String type;
+}
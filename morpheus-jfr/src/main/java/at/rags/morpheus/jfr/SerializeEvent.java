@@ -0,0 +1,23 @@
+package at.rags.morpheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One call of Morpheus.createJson.
+ */
+@Name("at.rags.morpheus.Serialize")
+@Label("Morpheus Serialize")
+@Category("Morpheus")
+@Description("Serialization of a json:api document")
+class SerializeEvent extends jdk.jfr.Event {
+
+    @Label("Resources")
+    int resourceCount;
+
+    @Label("Output Length")
+    @Description("Length of the json string in characters")
+    int outputLength;
+}
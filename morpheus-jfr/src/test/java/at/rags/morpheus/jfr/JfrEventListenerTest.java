@@ -0,0 +1,88 @@
+package at.rags.morpheus.jfr;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import at.rags.morpheus.Deserializer;
+import at.rags.morpheus.JsonApiObject;
+import at.rags.morpheus.Morpheus;
+import at.rags.morpheus.Resource;
+import at.rags.morpheus.annotations.Relationship;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.Assert.assertEquals;
+
+public class JfrEventListenerTest {
+
+    private static final String JSON = "{\"data\":{\"type\":\"jfr_articles\",\"id\":\"1\","
+        + "\"attributes\":{\"title\":\"title\"},"
+        + "\"relationships\":{\"author\":{\"data\":{\"type\":\"jfr_people\",\"id\":\"9\"}}}},"
+        + "\"included\":[{\"type\":\"jfr_people\",\"id\":\"9\",\"attributes\":{\"name\":\"name\"}}]}";
+
+    @Test
+    public void testEvents() throws Exception {
+        Deserializer.registerResourceClass("jfr_articles", JfrArticle.class);
+        Deserializer.registerResourceClass("jfr_people", JfrPerson.class);
+        Morpheus morpheus = new Morpheus();
+        morpheus.setEventListener(new JfrEventListener());
+
+        File file = File.createTempFile("morpheus", ".jfr");
+        Recording recording = new Recording();
+        recording.enable("at.rags.morpheus.Parse");
+        recording.enable("at.rags.morpheus.Resource");
+        recording.enable("at.rags.morpheus.IncludedMatch");
+        recording.enable("at.rags.morpheus.Serialize");
+        recording.start();
+
+        JsonApiObject jsonApiObject = morpheus.parse(JSON);
+        morpheus.createJson(jsonApiObject, false);
+
+        recording.stop();
+        recording.dump(file.toPath());
+        recording.close();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+        file.delete();
+
+        List<String> resourceTypes = new ArrayList<>();
+        RecordedEvent parse = null;
+        RecordedEvent match = null;
+        RecordedEvent serialize = null;
+        for (RecordedEvent event : events) {
+            String name = event.getEventType().getName();
+            if (name.equals("at.rags.morpheus.Parse")) {
+                parse = event;
+            } else if (name.equals("at.rags.morpheus.Resource")) {
+                resourceTypes.add(event.getString("type"));
+            } else if (name.equals("at.rags.morpheus.IncludedMatch")) {
+                match = event;
+            } else if (name.equals("at.rags.morpheus.Serialize")) {
+                serialize = event;
+            }
+        }
+
+        assertEquals(JSON.length(), parse.getInt("inputLength"));
+        assertEquals(2, parse.getInt("resourceCount"));
+        assertEquals(1, parse.getInt("relationshipCount"));
+        assertEquals(2, parse.getInt("attributeCount"));
+        assertEquals(2, resourceTypes.size());
+        assertEquals("jfr_articles", match.getString("type"));
+        assertEquals(1, match.getInt("matchedCount"));
+        assertEquals(1, serialize.getInt("resourceCount"));
+    }
+
+    public static class JfrArticle extends Resource {
+        private String title;
+        @Relationship("author")
+        private JfrPerson author;
+    }
+
+    public static class JfrPerson extends Resource {
+        private String name;
+    }
+}
@@ -0,0 +1,22 @@
+package at.rags.morpheus.android;
+
+import android.util.Log;
+
+import at.rags.morpheus.Logger;
+
+/**
+ * Writes the debug messages of {@link Logger} to logcat.
+ * <p>
+ * Install with {@code Logger.setOutput(new LogcatOutput())}.
+ */
+public class LogcatOutput implements Logger.Output {
+
+  @Override
+  public void debug(String tag, String message, Throwable throwable) {
+    if (throwable == null) {
+      Log.d(tag, message);
+    } else {
+      Log.d(tag, message, throwable);
+    }
+  }
+}
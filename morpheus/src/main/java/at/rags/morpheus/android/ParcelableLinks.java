@@ -0,0 +1,64 @@
+package at.rags.morpheus.android;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import at.rags.morpheus.Links;
+
+/**
+ * {@link Links} you can put into a Parcel.
+ *
+ * @see Links
+ */
+public class ParcelableLinks extends Links implements Parcelable {
+
+  public ParcelableLinks() {
+  }
+
+  /**
+   * Creates parcelable links from the links of a resource or JsonApiObject.
+   *
+   * @param links Links to copy.
+   */
+  public ParcelableLinks(Links links) {
+    super(links);
+  }
+
+  protected ParcelableLinks(Parcel in) {
+    setSelfLink(in.readString());
+    setRelated(in.readString());
+    setFirst(in.readString());
+    setLast(in.readString());
+    setPrev(in.readString());
+    setNext(in.readString());
+    setAbout(in.readString());
+  }
+
+  public static final Creator<ParcelableLinks> CREATOR = new Creator<ParcelableLinks>() {
+    @Override
+    public ParcelableLinks createFromParcel(Parcel in) {
+      return new ParcelableLinks(in);
+    }
+
+    @Override
+    public ParcelableLinks[] newArray(int size) {
+      return new ParcelableLinks[size];
+    }
+  };
+
+  @Override
+  public int describeContents() {
+    return 0;
+  }
+
+  @Override
+  public void writeToParcel(Parcel dest, int flags) {
+    dest.writeString(getSelfLink());
+    dest.writeString(getRelated());
+    dest.writeString(getFirst());
+    dest.writeString(getLast());
+    dest.writeString(getPrev());
+    dest.writeString(getNext());
+    dest.writeString(getAbout());
+  }
+}